@@ -0,0 +1,58 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.services.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers the appliance service runs on every create and update: mapping the DTO to the entity and checking
+ * whether a client supplied id can be kept.
+ * Run it with: ./gradlew jmh -PjmhIncludes=HomeApplianceCreateHelpersBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HomeApplianceCreateHelpersBenchmark {
+
+    private HomeApplianceDTO homeApplianceDTO;
+
+    private String validId;
+
+    private String invalidId;
+
+    @Setup
+    public void setup() {
+        homeApplianceDTO = HomeApplianceDTO.builder()
+                .id("eba9031b-b87d-4b91-9afd-9a1e0387a9bf")
+                .name("Enceradeira")
+                .description("Enceradeira para piso sintético")
+                .price(350.0)
+                .inventory(12)
+                .voltage(1)
+                .portable(true)
+                .classification(2)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").power(180).build())
+                .build();
+        validId = "01890a5d-ac96-774b-bcce-b302099a8057";
+        invalidId = "01890a5d-ac96-774b-7cce-b302099a8057";
+    }
+
+    @Benchmark
+    public HomeAppliance toHomeAppliance() {
+        return homeApplianceDTO.toHomeAppliance();
+    }
+
+    @Benchmark
+    public boolean checkCanonicalId() {
+        return IdGenerator.isCanonical(validId);
+    }
+
+    @Benchmark
+    public boolean checkNonCanonicalId() {
+        return IdGenerator.isCanonical(invalidId);
+    }
+}
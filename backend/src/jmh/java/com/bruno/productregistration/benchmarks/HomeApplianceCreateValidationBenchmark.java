@@ -0,0 +1,106 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.enums.Classification;
+import com.bruno.productregistration.entities.enums.Voltage;
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Checks run on every create, comparing the exception driven flow the service used before (enum lookups
+ * rethrown, a NullPointerException caught for appliances without energy consumption, exceptions with
+ * stack traces) against the result based checks and stackless exceptions. The checks run under stackDepth
+ * extra frames, since the cost of filling a stack trace grows with the depth of the request thread.
+ * Run it with: ./gradlew jmh -PjmhIncludes=HomeApplianceCreateValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HomeApplianceCreateValidationBenchmark {
+
+    @Param({"10", "150"})
+    private int stackDepth;
+
+    private HomeApplianceDTO validDTO;
+
+    private HomeApplianceDTO invalidDTO;
+
+    @Setup
+    public void setup() {
+        validDTO = HomeApplianceDTO.builder()
+                .name("Enceradeira")
+                .price(350.0)
+                .inventory(12)
+                .voltage(1)
+                .portable(true)
+                .classification(2)
+                .build();
+        invalidDTO = HomeApplianceDTO.builder()
+                .name("Enceradeira")
+                .voltage(9)
+                .portable(true)
+                .classification(2)
+                .build();
+    }
+
+    @Benchmark
+    public Object validCreateWithExceptions() {
+        return atDepth(stackDepth, () -> checkWithExceptions(validDTO));
+    }
+
+    @Benchmark
+    public Object validCreateWithResults() {
+        return atDepth(stackDepth, () -> checkWithResults(validDTO));
+    }
+
+    @Benchmark
+    public Object invalidCreateWithExceptions() {
+        return atDepth(stackDepth, () -> checkWithExceptions(invalidDTO));
+    }
+
+    @Benchmark
+    public Object invalidCreateWithResults() {
+        return atDepth(stackDepth, () -> checkWithResults(invalidDTO));
+    }
+
+    private static Object checkWithExceptions(HomeApplianceDTO homeApplianceDTO) {
+        try {
+            try {
+                toEnumWithException(Voltage.validate(homeApplianceDTO.getVoltage()));
+                toEnumWithException(Classification.validate(homeApplianceDTO.getClassification()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(e.getMessage());
+            }
+            try {
+                return EnergyConsumptionDTO.toDTO(homeApplianceDTO.getEnergyConsumption());
+            } catch (NullPointerException e) {
+                return null;
+            }
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private static void toEnumWithException(String violation) {
+        if (violation != null) throw new IllegalArgumentException(violation);
+    }
+
+    private static Object checkWithResults(HomeApplianceDTO homeApplianceDTO) {
+        try {
+            String violation = homeApplianceDTO.checkEnums();
+            if (violation != null) throw new IncorrectValueException(violation);
+            if (homeApplianceDTO.getEnergyConsumption() == null) return null;
+            return EnergyConsumptionDTO.toDTO(homeApplianceDTO.getEnergyConsumption());
+        } catch (IncorrectValueException e) {
+            return e;
+        }
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> check) {
+        return depth == 0 ? check.get() : atDepth(depth - 1, check);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.impl.HomeApplianceJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Building the body of a single appliance on every request (Jackson and optionally gzip) against reading the bytes
+ * held by HomeApplianceJsonCache, plain and gzipped. The appliances are built in memory, so the load from the
+ * database is left out of both sides.
+ * Run it with: ./gradlew jmh -PjmhIncludes=HomeApplianceJsonCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HomeApplianceJsonCacheBenchmark {
+
+    private static final int APPLIANCES = 1000;
+
+    private final List<HomeApplianceDTO> appliances = new ArrayList<>(APPLIANCES);
+
+    private ObjectWriter writer;
+
+    private HomeApplianceJsonCache cache;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < APPLIANCES; i++) {
+            appliances.add(HomeApplianceDTO.builder()
+                    .id(String.format("eba9031b-b87d-4b91-9afd-%012x", i))
+                    .name("Benchmark JSON appliance " + i)
+                    .description("A home appliance used to measure how its response body is built")
+                    .price(10.0)
+                    .inventory(i)
+                    .voltage(i % 3)
+                    .portable(i % 2 == 0)
+                    .classification(i % 5)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").power(i * 10).build())
+                    .version(0L)
+                    .build());
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(HomeApplianceDTO.class);
+        cache = new HomeApplianceJsonCache(objectMapper, new SimpleMeterRegistry(), 32L << 20, Duration.ofHours(1));
+        appliances.forEach(appliance -> cache.get(appliance.getId(), () -> appliance));
+    }
+
+    @Benchmark
+    public byte[] jsonMappedPerRequest() throws IOException {
+        return writer.writeValueAsBytes(randomAppliance());
+    }
+
+    @Benchmark
+    public byte[] jsonCached() {
+        HomeApplianceDTO appliance = randomAppliance();
+        return cache.get(appliance.getId(), () -> appliance).getJson();
+    }
+
+    @Benchmark
+    public byte[] gzipMappedPerRequest() throws IOException {
+        byte[] json = writer.writeValueAsBytes(randomAppliance());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(bytes)) {
+            outputStream.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] gzipCached() {
+        HomeApplianceDTO appliance = randomAppliance();
+        return cache.get(appliance.getId(), () -> appliance).getGzip();
+    }
+
+    private HomeApplianceDTO randomAppliance() {
+        return appliances.get(ThreadLocalRandom.current().nextInt(APPLIANCES));
+    }
+}
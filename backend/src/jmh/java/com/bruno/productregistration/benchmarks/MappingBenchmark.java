@@ -0,0 +1,82 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.entities.enums.Classification;
+import com.bruno.productregistration.entities.enums.Voltage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and enum lookups done for every appliance read or written.
+ * Run it with: ./gradlew jmh -PjmhIncludes=MappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    private EnergyConsumption consumption;
+
+    private HomeAppliance appliance;
+
+    private HomeApplianceView view;
+
+    private Integer voltage;
+
+    private Integer classification;
+
+    @Setup
+    public void setup() {
+        consumption = EnergyConsumption.builder()
+                .name("Enceradeira")
+                .power(180)
+                .monthlyUsage(4)
+                .dailyUse(120)
+                .monthlyConsumptionAverage(16.5)
+                .build();
+        appliance = HomeAppliance.builder()
+                .id("eba9031b-b87d-4b91-9afd-9a1e0387a9bf")
+                .name("Enceradeira")
+                .description("Enceradeira para piso sintético")
+                .price(350.0)
+                .inventory(12)
+                .voltage(1)
+                .portable(true)
+                .classification(2)
+                .energyConsumption(consumption)
+                .build();
+        view = HomeApplianceView.of(appliance);
+        voltage = 2;
+        classification = 4;
+    }
+
+    @Benchmark
+    public HomeApplianceDTO homeApplianceToDTO() {
+        return HomeApplianceDTO.toDTO(appliance);
+    }
+
+    @Benchmark
+    public HomeApplianceDTO homeApplianceViewToDTO() {
+        return HomeApplianceDTO.toDTO(view);
+    }
+
+    @Benchmark
+    public EnergyConsumptionDTO energyConsumptionToDTO() {
+        return EnergyConsumptionDTO.toDTO(consumption);
+    }
+
+    @Benchmark
+    public Voltage voltageToEnum() {
+        return Voltage.toEnum(voltage);
+    }
+
+    @Benchmark
+    public Classification classificationToEnum() {
+        return Classification.toEnum(classification);
+    }
+}
@@ -0,0 +1,111 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a page of appliances as JSON, CBOR and Smile, with the mapper defaults Spring MVC uses.
+ * Decoding reads the page content back into DTOs, as a consumer of GET /appliances would. The size of each
+ * encoded page is printed during setup.
+ * Run it with: ./gradlew jmh -PjmhIncludes=PageFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PageFormatBenchmark {
+
+    private static final String[] NAMES = {"Geladeira", "Fog\u00e3o", "Micro-ondas", "Lava-lou\u00e7as", "Enceradeira", "Aspirador"};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private Page<HomeApplianceDTO> page;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        List<HomeApplianceDTO> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = NAMES[i % NAMES.length];
+            content.add(HomeApplianceDTO.builder()
+                    .id(String.format("017c3b4e-5a1f-7d2e-9c4b-%012x", i))
+                    .name(name + " modelo " + (1000 + i))
+                    .description(name + " de " + (110 + i % 3 * 110) + "V com classifica\u00e7\u00e3o energ\u00e9tica " + (char) ('A' + i % 5))
+                    .price(199.9 + i * 37.45)
+                    .inventory(i * 13 % 500)
+                    .voltage(i % 3)
+                    .portable(i % 2 == 0)
+                    .classification(i % 5)
+                    .energyConsumption(EnergyConsumption.builder()
+                            .name(name)
+                            .power(150 + i % 7 * 250)
+                            .monthlyUsage(30)
+                            .dailyUse(1 + i % 4)
+                            .monthlyConsumptionAverage(12.75 + i % 9)
+                            .build())
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size), 10_000);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .build();
+        writer = mapper.writer();
+        reader = mapper.readerFor(PageContent.class);
+        encoded = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d: %,d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageContent decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "json":
+                return new JsonFactory();
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                throw new IllegalArgumentException(format);
+        }
+    }
+
+    public static class PageContent {
+
+        public List<HomeApplianceDTO> content;
+
+        public long totalElements;
+    }
+}
@@ -0,0 +1,58 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a page of appliances the way GET /appliances writes it, with the mapper defaults
+ * Spring MVC uses.
+ * Run it with: ./gradlew jmh -PjmhIncludes=PageSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private Page<HomeApplianceDTO> page;
+
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() {
+        List<HomeApplianceDTO> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(HomeApplianceDTO.builder()
+                    .id(String.format("eba9031b-b87d-4b91-9afd-%012x", i))
+                    .name("Appliance " + i)
+                    .description("Description of the appliance " + i)
+                    .price(100.0 + i)
+                    .inventory(i)
+                    .voltage(i % 3)
+                    .portable(i % 2 == 0)
+                    .classification(i % 5)
+                    .energyConsumption(EnergyConsumption.builder().name("Consumption " + i).power(i * 10).build())
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size), 10_000);
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bruno.productregistration.config;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every call to the services, the energy consumption API client and the JPA repositories, counting
+ * errors and calls in flight, so the latency of a request can be split between the database and the remote API.
+ * Calls are tagged by layer, component and method; the timer is also tagged by outcome and exception.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class CallMetricsAspect {
+
+    public static final String CALLS = "appliances.calls";
+
+    public static final String ERRORS = "appliances.calls.errors";
+
+    public static final String ACTIVE = "appliances.calls.active";
+
+    public static final String SERVICE = "service";
+
+    public static final String CLIENT = "client";
+
+    public static final String REPOSITORY = "repository";
+
+    private static final String SUCCESS = "SUCCESS";
+
+    private static final String ERROR = "ERROR";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, Map<Method, CallMeters>> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.bruno.productregistration.services.HomeApplianceService+.*(..))"
+            + " || execution(public * com.bruno.productregistration.services.EnergyConsumptionService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE, joinPoint);
+    }
+
+    @Around("execution(* com.bruno.productregistration.services.EnergyConsumptionAPIService.*(..))")
+    public Object timeClient(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(CLIENT, joinPoint);
+    }
+
+    @Around("execution(public * *(..)) && target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY, joinPoint);
+    }
+
+    private Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        CallMeters call = metersOf(layer, joinPoint);
+        call.active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            call.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            timer(call.tags, outcome(layer, e), exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder(ERRORS)
+                    .description("Calls that ended with an exception")
+                    .tags(call.tags)
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            call.active.decrementAndGet();
+        }
+    }
+
+    private CallMeters metersOf(String layer, ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(target.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new CallMeters(Tags.of(
+                        "layer", layer,
+                        "component", componentOf(target),
+                        "method", key.getName())));
+    }
+
+    private Timer timer(Tags tags, String outcome, String exception) {
+        return Timer.builder(CALLS)
+                .description("Latency of service, remote API and repository calls")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private static String outcome(String layer, Throwable e) {
+        if (CLIENT.equals(layer) && e instanceof FeignException)
+            return Outcome.forStatus(((FeignException) e).status()).name();
+        return ERROR;
+    }
+
+    private static String componentOf(Object target) {
+        if (Proxy.isProxyClass(target.getClass())) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) return interfaces[0].getSimpleName();
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+
+    private final class CallMeters {
+
+        private final Tags tags;
+
+        private final Timer success;
+
+        private final AtomicInteger active;
+
+        private CallMeters(Tags tags) {
+            this.tags = tags;
+            this.success = timer(tags, SUCCESS, NO_EXCEPTION);
+            this.active = meterRegistry.gauge(ACTIVE, tags, new AtomicInteger());
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.bruno.productregistration.config;
 
 import com.bruno.productregistration.entities.EnergyConsumption;
 import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
 import com.bruno.productregistration.repositories.EnergyConsumptionRepository;
 import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
 import com.bruno.productregistration.services.EnergyConsumptionAPIService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +22,8 @@ public class DummyData implements CommandLineRunner {
 
     private final HomeApplianceRepository homeApplianceRepository;
 
+    private final HomeApplianceViewRepository homeApplianceViewRepository;
+
     @Value("${spring.profiles.active}")
     private String activeProfile;
 
@@ -47,7 +51,7 @@ public class DummyData implements CommandLineRunner {
                     .classification(2)
                     .energyConsumption(consumption)
                     .build();
-            homeApplianceRepository.save(homeAppliance);
+            homeApplianceViewRepository.save(HomeApplianceView.of(homeApplianceRepository.save(homeAppliance)));
         }
     }
 }
@@ -0,0 +1,50 @@
+package com.bruno.productregistration.config;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class EnergyConsumptionAPIConfig {
+
+    public static final String CIRCUIT_BREAKER_NAME = "energyConsumptionAPI";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${energy-consumption-api.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${energy-consumption-api.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${energy-consumption-api.circuit-breaker.slow-call-duration-threshold:1s}") Duration slowCallDurationThreshold,
+            @Value("${energy-consumption-api.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${energy-consumption-api.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${energy-consumption-api.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitDurationInOpenState,
+            @Value("${energy-consumption-api.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState
+    ) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .ignoreExceptions(FeignException.NotFound.class)
+                .build();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        return circuitBreakerRegistry;
+    }
+
+    @Bean
+    public CircuitBreaker energyConsumptionAPICircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+    }
+}
@@ -0,0 +1,70 @@
+package com.bruno.productregistration.config;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound HTTP client used by the Feign clients. By default a pooled Apache HttpClient keeps
+ * connections alive between calls; with energy-consumption-api.http.http2-enabled=true the JDK
+ * HttpClient is used instead, multiplexing calls over HTTP/2 when the server supports it.
+ */
+@Configuration
+public class FeignClientConfig {
+
+    private static final String HTTP2_ENABLED = "energy-consumption-api.http.http2-enabled";
+
+    @Bean
+    @ConditionalOnProperty(value = HTTP2_ENABLED, havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient feignHttpClient(
+            @Value("${energy-consumption-api.http.max-connections:200}") int maxConnections,
+            @Value("${energy-consumption-api.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${energy-consumption-api.http.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${energy-consumption-api.http.keep-alive:60s}") Duration keepAlive,
+            @Value("${feign.client.config.appliances.connect-timeout:1000}") int connectTimeout
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .evictExpiredConnections()
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectTimeout(connectTimeout).build())
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = HTTP2_ENABLED, havingValue = "false", matchIfMissing = true)
+    public Client feignClient(CloseableHttpClient feignHttpClient) {
+        return new ApacheHttpClient(feignHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = HTTP2_ENABLED, havingValue = "true")
+    public Client http2FeignClient(@Value("${feign.client.config.appliances.connect-timeout:1000}") int connectTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        return new Http2FeignClient(httpClient);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bruno.productregistration.config;
+
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time backfill of the read model for appliances written before it existed. It only adds the missing rows and
+ * skips ids another instance inserts meanwhile, so it can run during a rolling deploy; as it reads every appliance,
+ * it is off unless enabled.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+@ConditionalOnProperty(value = "appliances.read-model.backfill-on-startup", havingValue = "true")
+public class HomeApplianceViewInitializer {
+
+    private final HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int rows = homeApplianceViewRepository.insertMissingFromBaseTables();
+        log.info("The home appliance read model was backfilled with " + rows + " rows");
+    }
+}
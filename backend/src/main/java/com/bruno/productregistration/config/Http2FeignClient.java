@@ -0,0 +1,59 @@
+package com.bruno.productregistration.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class Http2FeignClient implements Client {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "date", "expect", "from", "host", "origin", "referer", "upgrade", "via", "warning"
+    );
+
+    private final HttpClient httpClient;
+
+    public Http2FeignClient(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(request.url()))
+                .method(request.httpMethod().name(), request.body() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        if (options.readTimeoutMillis() > 0) requestBuilder.timeout(Duration.ofMillis(options.readTimeoutMillis()));
+        request.headers().forEach((name, values) -> {
+            if (RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) return;
+            values.forEach(value -> requestBuilder.header(name, value));
+        });
+        HttpResponse<byte[]> httpResponse;
+        try {
+            httpResponse = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The request to " + request.url() + " was interrupted!", e);
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        httpResponse.headers().map().forEach(headers::put);
+        return Response.builder()
+                .status(httpResponse.statusCode())
+                .headers(headers)
+                .body(httpResponse.body())
+                .request(request)
+                .build();
+    }
+}
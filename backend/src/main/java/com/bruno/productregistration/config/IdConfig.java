@@ -0,0 +1,46 @@
+package com.bruno.productregistration.config;
+
+import com.bruno.productregistration.entities.CompactUuidType;
+import com.bruno.productregistration.entities.Product;
+import com.bruno.productregistration.services.IdGenerator;
+import com.bruno.productregistration.services.impl.RandomUuidGenerator;
+import com.bruno.productregistration.services.impl.TimeOrderedUuidGenerator;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.type.StringType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${appliances.id.strategy:time-ordered}") String strategy) {
+        switch (strategy) {
+            case "time-ordered":
+                return new TimeOrderedUuidGenerator();
+            case "random":
+                return new RandomUuidGenerator();
+            default:
+                throw new IllegalStateException("Unknown id strategy: " + strategy + "! Use 'time-ordered' or 'random'.");
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idStorageCustomizer(@Value("${appliances.id.storage:text}") String storage) {
+        MetadataBuilderContributor contributor;
+        switch (storage) {
+            case "text":
+                contributor = builder -> builder.applyBasicType(StringType.INSTANCE, Product.ID_TYPE);
+                break;
+            case "binary":
+                contributor = builder -> builder.applyBasicType(new CompactUuidType(), Product.ID_TYPE);
+                break;
+            default:
+                throw new IllegalStateException("Unknown id storage: " + storage + "! Use 'text' or 'binary'.");
+        }
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.METADATA_BUILDER_CONTRIBUTOR, contributor);
+    }
+}
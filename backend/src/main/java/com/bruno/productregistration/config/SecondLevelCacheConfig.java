@@ -0,0 +1,62 @@
+package com.bruno.productregistration.config;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Bounded Caffeine caches behind the Hibernate second-level and query caches. Every region is created here and
+ * Hibernate is not allowed to create missing ones; only the update timestamps region, which holds one entry per
+ * table, has no bound. Each application context gets its own cache manager, so contexts sharing a JVM don't share regions.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${appliances.second-level-cache.energy-consumption.maximum-size:10000}") long consumptionMaximumSize,
+            @Value("${appliances.second-level-cache.energy-consumption.ttl:1h}") Duration consumptionTtl,
+            @Value("${appliances.second-level-cache.query-results.maximum-size:10000}") long queryResultsMaximumSize,
+            @Value("${appliances.second-level-cache.query-results.ttl:10m}") Duration queryResultsTtl
+    ) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("urn:appliances:second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(EnergyConsumption.CACHE_REGION, region(consumptionMaximumSize, consumptionTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryResultsMaximumSize, queryResultsTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumSize != null) configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttl != null) configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.bruno.productregistration.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class BatchItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED, UPDATED, REJECTED
+    }
+
+    private Integer index;
+    private String id;
+    private String name;
+    private Status status;
+    private String message;
+
+    public static BatchItemResultDTO of(int index, HomeApplianceDTO homeApplianceDTO, Status status) {
+        return BatchItemResultDTO.builder()
+                .index(index)
+                .id(homeApplianceDTO.getId())
+                .name(homeApplianceDTO.getName())
+                .status(status)
+                .build();
+    }
+
+    public static BatchItemResultDTO rejected(int index, HomeApplianceDTO homeApplianceDTO, String message) {
+        BatchItemResultDTO result = BatchItemResultDTO.builder()
+                .index(index)
+                .status(Status.REJECTED)
+                .message(message)
+                .build();
+        if (homeApplianceDTO != null) {
+            result.setId(homeApplianceDTO.getId());
+            result.setName(homeApplianceDTO.getName());
+        }
+        return result;
+    }
+}
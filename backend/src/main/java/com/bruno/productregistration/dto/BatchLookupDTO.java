@@ -0,0 +1,18 @@
+package com.bruno.productregistration.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class BatchLookupDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content;
+    private List<String> missing;
+}
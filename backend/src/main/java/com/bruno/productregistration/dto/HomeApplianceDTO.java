@@ -2,7 +2,10 @@ package com.bruno.productregistration.dto;
 
 import com.bruno.productregistration.entities.EnergyConsumption;
 import com.bruno.productregistration.entities.HomeAppliance;
-import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.entities.enums.Classification;
+import com.bruno.productregistration.entities.enums.Voltage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.hibernate.validator.constraints.Length;
 
@@ -38,24 +41,60 @@ public class HomeApplianceDTO implements Serializable {
     private Integer classification;
     private EnergyConsumption energyConsumption;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    /**
+     * Message for the first voltage or classification code that names no value, or null when both are valid.
+     */
+    public String checkEnums() {
+        String violation = Voltage.validate(voltage);
+        return violation != null ? violation : Classification.validate(classification);
+    }
+
+    public HomeAppliance toHomeAppliance() {
+        return HomeAppliance.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(price)
+                .inventory(inventory)
+                .voltage(voltage)
+                .portable(portable)
+                .classification(classification)
+                .energyConsumption(energyConsumption)
+                .build();
+    }
+
     public static HomeApplianceDTO toDTO(HomeAppliance homeAppliance) {
-        HomeApplianceDTO homeApplianceDTO = HomeApplianceDTO.builder().build();
-        try {
-            homeApplianceDTO = HomeApplianceDTO.builder()
-                    .id(homeAppliance.getId())
-                    .name(homeAppliance.getName())
-                    .description(homeAppliance.getDescription())
-                    .price(homeAppliance.getPrice())
-                    .inventory(homeAppliance.getInventory())
-                    .voltage(homeAppliance.getVoltage().getCode())
-                    .portable(homeAppliance.getPortable())
-                    .classification(homeAppliance.getClassification().getCode())
-                    .energyConsumption(homeAppliance.getEnergyConsumption())
-                    .build();
-        } catch (IllegalArgumentException e) {
-            throw new IncorrectValueException(e.getMessage());
-        }
-        return homeApplianceDTO;
+        return HomeApplianceDTO.builder()
+                .id(homeAppliance.getId())
+                .name(homeAppliance.getName())
+                .description(homeAppliance.getDescription())
+                .price(homeAppliance.getPrice())
+                .inventory(homeAppliance.getInventory())
+                .voltage(homeAppliance.getVoltage().getCode())
+                .portable(homeAppliance.getPortable())
+                .classification(homeAppliance.getClassification().getCode())
+                .energyConsumption(homeAppliance.getEnergyConsumption())
+                .version(homeAppliance.getVersion())
+                .build();
+    }
+
+    public static HomeApplianceDTO toDTO(HomeApplianceView view) {
+        return HomeApplianceDTO.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .price(view.getPrice())
+                .inventory(view.getInventory())
+                .voltage(view.getVoltage())
+                .portable(view.getPortable())
+                .classification(view.getClassification())
+                .energyConsumption(view.getEnergyConsumption())
+                .version(view.getVersion())
+                .build();
     }
 
 }
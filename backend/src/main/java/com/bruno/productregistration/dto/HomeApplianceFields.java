@@ -0,0 +1,111 @@
+package com.bruno.productregistration.dto;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.Tuple;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Properties of an appliance picked with fields=, in the order they were asked for. Only the view columns behind
+ * them are selected, plus the id and version the ETags and cursors need, and each appliance is written as a map
+ * holding just those properties.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HomeApplianceFields {
+
+    private final List<Field> fields;
+
+    @Getter
+    private final Set<String> attributes;
+
+    public static HomeApplianceFields parse(String fields) {
+        Set<Field> picked = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) continue;
+            picked.add(Field.of(name.trim()));
+        }
+        if (picked.isEmpty()) throw new IncorrectValueException("The fields must name at least one of " + Field.names() + "!");
+        Set<String> attributes = new LinkedHashSet<>(List.of("id", "version"));
+        picked.forEach(field -> attributes.addAll(field.attributes));
+        return new HomeApplianceFields(List.copyOf(picked), Collections.unmodifiableSet(attributes));
+    }
+
+    public Set<String> attributesWith(String attribute) {
+        Set<String> attributes = new LinkedHashSet<>(this.attributes);
+        attributes.add(attribute);
+        return attributes;
+    }
+
+    public List<String> names() {
+        return fields.stream().map(field -> field.name).collect(Collectors.toList());
+    }
+
+    public static HomeApplianceDTO toDTO(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        tuple.getElements().forEach(element -> values.put(element.getAlias(), tuple.get(element)));
+        String consumptionName = (String) values.get("energyConsumptionName");
+        return HomeApplianceDTO.builder()
+                .id((String) values.get("id"))
+                .name((String) values.get("name"))
+                .description((String) values.get("description"))
+                .price((Double) values.get("price"))
+                .inventory((Integer) values.get("inventory"))
+                .voltage((Integer) values.get("voltage"))
+                .portable((Boolean) values.get("portable"))
+                .classification((Integer) values.get("classification"))
+                .energyConsumption(consumptionName == null ? null : EnergyConsumption.builder()
+                        .name(consumptionName)
+                        .power((Integer) values.get("power"))
+                        .monthlyUsage((Integer) values.get("monthlyUsage"))
+                        .dailyUse((Integer) values.get("dailyUse"))
+                        .monthlyConsumptionAverage((Double) values.get("monthlyConsumptionAverage"))
+                        .build())
+                .version((Long) values.get("version"))
+                .build();
+    }
+
+    public Map<String, Object> select(HomeApplianceDTO appliance) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        fields.forEach(field -> properties.put(field.name, field.getter.apply(appliance)));
+        return properties;
+    }
+
+    @RequiredArgsConstructor
+    private enum Field {
+        ID("id", HomeApplianceDTO::getId, "id"),
+        NAME("name", HomeApplianceDTO::getName, "name"),
+        DESCRIPTION("description", HomeApplianceDTO::getDescription, "description"),
+        PRICE("price", HomeApplianceDTO::getPrice, "price"),
+        INVENTORY("inventory", HomeApplianceDTO::getInventory, "inventory"),
+        VOLTAGE("voltage", HomeApplianceDTO::getVoltage, "voltage"),
+        PORTABLE("portable", HomeApplianceDTO::getPortable, "portable"),
+        CLASSIFICATION("classification", HomeApplianceDTO::getClassification, "classification"),
+        ENERGY_CONSUMPTION("energyConsumption", HomeApplianceDTO::getEnergyConsumption,
+                "energyConsumptionName", "power", "monthlyUsage", "dailyUse", "monthlyConsumptionAverage");
+
+        private final String name;
+        private final Function<HomeApplianceDTO, Object> getter;
+        private final List<String> attributes;
+
+        Field(String name, Function<HomeApplianceDTO, Object> getter, String... attributes) {
+            this(name, getter, List.of(attributes));
+        }
+
+        static Field of(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) return field;
+            }
+            throw new IncorrectValueException("Unknown field: " + name + "! Use any of " + names() + ".");
+        }
+
+        static String names() {
+            return Arrays.stream(values()).map(field -> field.name).collect(Collectors.joining(", "));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bruno.productregistration.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class InventoryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    @NotNull(message = "This field must be filled in with a number!")
+    private Integer delta;
+
+    private Integer inventory;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+}
@@ -1,22 +1,27 @@
 package com.bruno.productregistration.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import javax.persistence.Entity;
-import javax.persistence.Id;
-import javax.persistence.Table;
+import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "tb_energy_consumption")
+@Table(name = "tb_energy_consumption", indexes = @Index(name = "ux_energy_consumption_name_key", columnList = "name_key", unique = true))
 @Data
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EnergyConsumption.CACHE_REGION)
 public class EnergyConsumption implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String CACHE_REGION = "energyConsumption";
+
     @Id
     private String name;
 
@@ -31,4 +36,21 @@ public class EnergyConsumption implements Serializable {
 
     @EqualsAndHashCode.Exclude
     private Double monthlyConsumptionAverage;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameKey = NameKey.of(name);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = NameKey.of(name);
+    }
 }
@@ -35,7 +35,7 @@ public class HomeAppliance extends Product {
     }
 
     HomeAppliance(String id, String name, String description, Double price, Integer inventory, Boolean portable, EnergyConsumption energyConsumption, Voltage voltage, Classification classification) {
-        super(id, name, description, price, inventory);
+        super(id, name, description, price, inventory, NameKey.of(name), 0L);
         this.portable = portable;
         this.energyConsumption = energyConsumption;
         this.voltage = (voltage == null) ? null : voltage.getCode();
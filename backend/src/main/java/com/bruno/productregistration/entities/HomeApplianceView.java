@@ -0,0 +1,116 @@
+package com.bruno.productregistration.entities;
+
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Flattened, read-only copy of a home appliance and its energy consumption, kept in sync on every write
+ * so the GET endpoints read a single row instead of joining the inheritance and consumption tables.
+ */
+@Entity
+@Table(name = "tb_home_appliance_view", indexes = {
+        @Index(name = "ux_home_appliance_view_name_key", columnList = "name_key", unique = true),
+        @Index(name = "ix_home_appliance_view_name_id", columnList = "name, id")
+})
+@Data
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@Builder
+public class HomeApplianceView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Type(type = Product.ID_TYPE)
+    private String id;
+
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private String name;
+
+    @EqualsAndHashCode.Exclude
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    @EqualsAndHashCode.Exclude
+    private String description;
+
+    @EqualsAndHashCode.Exclude
+    private Double price;
+
+    @EqualsAndHashCode.Exclude
+    private Integer inventory;
+
+    @EqualsAndHashCode.Exclude
+    private Boolean portable;
+
+    @EqualsAndHashCode.Exclude
+    private Integer voltage;
+
+    @EqualsAndHashCode.Exclude
+    private Integer classification;
+
+    @EqualsAndHashCode.Exclude
+    private String energyConsumptionName;
+
+    @EqualsAndHashCode.Exclude
+    private Integer power;
+
+    @EqualsAndHashCode.Exclude
+    private Integer monthlyUsage;
+
+    @EqualsAndHashCode.Exclude
+    private Integer dailyUse;
+
+    @EqualsAndHashCode.Exclude
+    private Double monthlyConsumptionAverage;
+
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
+    public static HomeApplianceView of(HomeAppliance appliance) {
+        return of(appliance, appliance.getEnergyConsumption());
+    }
+
+    public static HomeApplianceView of(HomeAppliance appliance, EnergyConsumption consumption) {
+        HomeApplianceView view = new HomeApplianceView();
+        view.copyFrom(appliance, consumption);
+        return view;
+    }
+
+    public void copyFrom(HomeAppliance appliance) {
+        copyFrom(appliance, appliance.getEnergyConsumption());
+    }
+
+    public void copyFrom(HomeAppliance appliance, EnergyConsumption consumption) {
+        id = appliance.getId();
+        name = appliance.getName();
+        nameKey = NameKey.of(appliance.getName());
+        description = appliance.getDescription();
+        price = appliance.getPrice();
+        inventory = appliance.getInventory();
+        portable = appliance.getPortable();
+        voltage = appliance.getVoltage().getCode();
+        classification = appliance.getClassification().getCode();
+        energyConsumptionName = consumption == null ? null : consumption.getName();
+        power = consumption == null ? null : consumption.getPower();
+        monthlyUsage = consumption == null ? null : consumption.getMonthlyUsage();
+        dailyUse = consumption == null ? null : consumption.getDailyUse();
+        monthlyConsumptionAverage = consumption == null ? null : consumption.getMonthlyConsumptionAverage();
+        version = appliance.getVersion();
+    }
+
+    public EnergyConsumption getEnergyConsumption() {
+        if (energyConsumptionName == null) return null;
+        return EnergyConsumption.builder()
+                .name(energyConsumptionName)
+                .power(power)
+                .monthlyUsage(monthlyUsage)
+                .dailyUse(dailyUse)
+                .monthlyConsumptionAverage(monthlyConsumptionAverage)
+                .build();
+    }
+}
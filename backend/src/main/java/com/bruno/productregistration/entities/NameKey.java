@@ -0,0 +1,16 @@
+package com.bruno.productregistration.entities;
+
+import java.util.Locale;
+
+/**
+ * Case-folded form of a name, stored next to it so case-insensitive lookups can use a plain index.
+ */
+public final class NameKey {
+
+    private NameKey() {
+    }
+
+    public static String of(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+}
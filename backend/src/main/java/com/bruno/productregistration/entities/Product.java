@@ -1,14 +1,16 @@
 package com.bruno.productregistration.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
 
 import javax.persistence.*;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = @Index(name = "ux_product_name_key", columnList = "name_key", unique = true))
 @Data
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
@@ -19,7 +21,10 @@ public abstract class Product implements Serializable {
 
    private static final long serialVersionUID = 1L;
 
+    public static final String ID_TYPE = "product-id";
+
     @Id
+    @Type(type = ID_TYPE)
     private String id;
 
     @EqualsAndHashCode.Exclude
@@ -35,4 +40,26 @@ public abstract class Product implements Serializable {
     @EqualsAndHashCode.Exclude
     private Integer inventory;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Version
+    private long version;
+
+    public void setName(String name) {
+        this.name = name;
+        this.nameKey = NameKey.of(name);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = NameKey.of(name);
+    }
+
 }
@@ -20,11 +20,25 @@ public enum Classification {
     private Integer code;
     private String description;
     
+    private static final Classification[] VALUES = values();
+
     public static Classification toEnum(Integer code){
-        if(code == null) throw new IncorrectValueException("The classification code is null!");
-        for(Classification classification : Classification.values()){
-            if(code == classification.getCode()) return classification;
+        Classification classification = find(code);
+        if(classification == null) throw new IncorrectValueException(validate(code));
+        return classification;
+    }
+
+    public static String validate(Integer code){
+        if(code == null) return "The classification code is null!";
+        if(find(code) == null) return "Invalid classification code: " + code;
+        return null;
+    }
+
+    private static Classification find(Integer code){
+        if(code == null) return null;
+        for(Classification classification : VALUES){
+            if(classification.getCode().equals(code)) return classification;
         }
-        throw new IllegalArgumentException("Invalid classification code: " + code);
+        return null;
     }
 }
@@ -16,11 +16,25 @@ public enum Voltage {
     private Integer code;
     private String description;
 
+    private static final Voltage[] VALUES = values();
+
     public static Voltage toEnum(Integer code){
-        if(code == null) throw new IncorrectValueException("The voltage code is null!");
-        for(Voltage voltage : Voltage.values()){
-            if(code == voltage.getCode()) return voltage;
+        Voltage voltage = find(code);
+        if(voltage == null) throw new IncorrectValueException(validate(code));
+        return voltage;
+    }
+
+    public static String validate(Integer code){
+        if(code == null) return "The voltage code is null!";
+        if(find(code) == null) return "Invalid voltage code: " + code;
+        return null;
+    }
+
+    private static Voltage find(Integer code){
+        if(code == null) return null;
+        for(Voltage voltage : VALUES){
+            if(voltage.getCode().equals(code)) return voltage;
         }
-        throw new IllegalArgumentException("Invalid voltage code: " + code);
+        return null;
     }
 }
@@ -2,7 +2,10 @@ package com.bruno.productregistration.exceptions;
 
 import com.bruno.productregistration.services.exceptions.ExistingResourceException;
 import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import com.bruno.productregistration.services.exceptions.PreconditionFailedException;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -67,6 +70,55 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(standardError);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> preconditionFailed(
+            HttpServletRequest request, PreconditionFailedException exception
+    ) {
+        Instant timestamp = Instant.now();
+        int status = HttpStatus.PRECONDITION_FAILED.value();
+        String error = "Precondition Failed";
+        StandardError standardError = StandardError.builder()
+                .timestamp(timestamp)
+                .status(status)
+                .message(exception.getMessage())
+                .error(error)
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).body(standardError);
+    }
+
+    @ExceptionHandler(InsufficientInventoryException.class)
+    public ResponseEntity<StandardError> insufficientInventory(
+            HttpServletRequest request, InsufficientInventoryException exception
+    ) {
+        Instant timestamp = Instant.now();
+        int status = HttpStatus.CONFLICT.value();
+        String error = "Conflict";
+        StandardError standardError = StandardError.builder()
+                .timestamp(timestamp)
+                .status(status)
+                .message(exception.getMessage())
+                .error(error)
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).body(standardError);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> optimisticLockingFailure(HttpServletRequest request) {
+        Instant timestamp = Instant.now();
+        int status = HttpStatus.CONFLICT.value();
+        String error = "Conflict";
+        StandardError standardError = StandardError.builder()
+                .timestamp(timestamp)
+                .status(status)
+                .message("The object was modified by another request, try it again!")
+                .error(error)
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).body(standardError);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<StandardError> validation(MethodArgumentNotValidException exception) {
         Instant timestamp = Instant.now();
@@ -0,0 +1,10 @@
+package com.bruno.productregistration.repositories;
+
+import java.util.Collection;
+
+public interface BatchRepository<T> {
+
+    <S extends T> S insert(S entity);
+
+    void persistAll(Collection<? extends T> entities);
+}
@@ -0,0 +1,36 @@
+package com.bruno.productregistration.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+
+public class BatchRepositoryImpl<T> implements BatchRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    @Override
+    public <S extends T> S insert(S entity) {
+        entityManager.persist(entity);
+        entityManager.flush();
+        return entity;
+    }
+
+    @Transactional
+    @Override
+    public void persistAll(Collection<? extends T> entities) {
+        int persisted = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            if (++persisted % batchSize == 0) entityManager.flush();
+        }
+        entityManager.flush();
+    }
+}
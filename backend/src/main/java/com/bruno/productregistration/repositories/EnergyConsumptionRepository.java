@@ -2,13 +2,47 @@ package com.bruno.productregistration.repositories;
 
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.NameKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EnergyConsumptionRepository extends JpaRepository<EnergyConsumption, String> {
+public interface EnergyConsumptionRepository extends JpaRepository<EnergyConsumption, String>, BatchRepository<EnergyConsumption> {
 
-    Optional<EnergyConsumption> findByNameIgnoreCase(String name);
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    Optional<EnergyConsumption> findByNameKey(String nameKey);
+
+    List<EnergyConsumption> findByNameKeyIn(Collection<String> nameKeys);
+
+    default Optional<EnergyConsumption> findByNameIgnoreCase(String name) {
+        return findByNameKey(NameKey.of(name));
+    }
+
+    @Query("SELECT e FROM EnergyConsumption e ORDER BY e.name")
+    List<EnergyConsumption> seekByName(Pageable pageable);
+
+    @Query("SELECT e FROM EnergyConsumption e WHERE e.name > :name ORDER BY e.name")
+    List<EnergyConsumption> seekByNameAfter(@Param("name") String name, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = "tb_energy_consumption"))
+    @Query(nativeQuery = true, value = "INSERT INTO tb_energy_consumption " +
+            "(name, name_key, power, monthly_usage, daily_use, monthly_consumption_average) " +
+            "VALUES (:#{#consumption.name}, :#{T(com.bruno.productregistration.entities.NameKey).of(#consumption.name)}, " +
+            ":#{#consumption.power}, :#{#consumption.monthlyUsage}, :#{#consumption.dailyUse}, " +
+            ":#{#consumption.monthlyConsumptionAverage}) " +
+            "ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("consumption") EnergyConsumption consumption);
 }
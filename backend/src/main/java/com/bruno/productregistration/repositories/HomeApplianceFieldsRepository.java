@@ -0,0 +1,21 @@
+package com.bruno.productregistration.repositories;
+
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HomeApplianceFieldsRepository {
+
+    List<Tuple> findFields(Collection<String> attributes, Pageable pageable);
+
+    List<Tuple> seekFieldsByName(Collection<String> attributes, String name, String id, int limit);
+
+    List<Tuple> seekFieldsById(Collection<String> attributes, String id, int limit);
+
+    Optional<Tuple> findFieldsById(Collection<String> attributes, String id);
+
+    Optional<Tuple> findFieldsByNameKey(Collection<String> attributes, String nameKey);
+}
@@ -0,0 +1,97 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.entities.HomeApplianceView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads of the appliance view that select only the given attributes, each aliased by its own name. A seek
+ * without a previous name and id starts from the first row.
+ */
+public class HomeApplianceFieldsRepositoryImpl implements HomeApplianceFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Tuple> findFields(Collection<String> attributes, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<HomeApplianceView> view = select(query, attributes);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), view, builder));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Tuple> seekFieldsByName(Collection<String> attributes, String name, String id, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<HomeApplianceView> view = select(query, attributes);
+        Path<String> namePath = view.get("name");
+        Path<String> idPath = view.get("id");
+        if (id != null) {
+            query.where(builder.greaterThanOrEqualTo(namePath, name),
+                    builder.or(builder.greaterThan(namePath, name), builder.greaterThan(idPath, id)));
+        }
+        query.orderBy(builder.asc(namePath), builder.asc(idPath));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<Tuple> seekFieldsById(Collection<String> attributes, String id, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<HomeApplianceView> view = select(query, attributes);
+        Path<String> idPath = view.get("id");
+        if (id != null) query.where(builder.greaterThan(idPath, id));
+        query.orderBy(builder.asc(idPath));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<Tuple> findFieldsById(Collection<String> attributes, String id) {
+        return findFieldsBy(attributes, "id", id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<Tuple> findFieldsByNameKey(Collection<String> attributes, String nameKey) {
+        return findFieldsBy(attributes, "nameKey", nameKey);
+    }
+
+    private Optional<Tuple> findFieldsBy(Collection<String> attributes, String attribute, String value) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<HomeApplianceView> view = select(query, attributes);
+        query.where(builder.equal(view.get(attribute), value));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    private static Root<HomeApplianceView> select(CriteriaQuery<Tuple> query, Collection<String> attributes) {
+        Root<HomeApplianceView> view = query.from(HomeApplianceView.class);
+        query.multiselect(attributes.stream()
+                .map(attribute -> view.get(attribute).alias(attribute))
+                .collect(Collectors.toList()));
+        return view;
+    }
+}
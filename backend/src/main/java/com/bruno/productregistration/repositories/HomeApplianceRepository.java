@@ -1,13 +1,55 @@
 package com.bruno.productregistration.repositories;
 
 import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.NameKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface HomeApplianceRepository extends JpaRepository<HomeAppliance, String> {
+public interface HomeApplianceRepository extends JpaRepository<HomeAppliance, String>, BatchRepository<HomeAppliance>,
+        InventoryRepository {
 
-    Optional<HomeAppliance> findByNameIgnoreCase(String name);
+    @Override
+    @EntityGraph(attributePaths = "energyConsumption")
+    Page<HomeAppliance> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "energyConsumption")
+    Optional<HomeAppliance> findById(String id);
+
+    @Override
+    @EntityGraph(attributePaths = "energyConsumption")
+    List<HomeAppliance> findAllById(Iterable<String> ids);
+
+    @EntityGraph(attributePaths = "energyConsumption")
+    @Query("SELECT a FROM HomeAppliance a WHERE a.id IN (SELECT p.id FROM Product p WHERE p.nameKey = :nameKey)")
+    Optional<HomeAppliance> findByNameKey(@Param("nameKey") String nameKey);
+
+    @EntityGraph(attributePaths = "energyConsumption")
+    @Query("SELECT a FROM HomeAppliance a WHERE a.id IN (SELECT p.id FROM Product p WHERE p.nameKey IN :nameKeys)")
+    List<HomeAppliance> findByNameKeyIn(@Param("nameKeys") Collection<String> nameKeys);
+
+    default Optional<HomeAppliance> findByNameIgnoreCase(String name) {
+        return findByNameKey(NameKey.of(name));
+    }
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = "tb_product"))
+    @Query(nativeQuery = true, value = "UPDATE tb_product SET version = version + 1 " +
+            "WHERE id IN (SELECT h.id FROM tb_home_appliance h WHERE h.energy_consumption_name = :name)")
+    int incrementVersionByEnergyConsumption(@Param("name") String name);
 }
@@ -0,0 +1,104 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.entities.NameKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface HomeApplianceViewRepository extends JpaRepository<HomeApplianceView, String>, BatchRepository<HomeApplianceView>,
+        HomeApplianceFieldsRepository {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    Optional<HomeApplianceView> findByNameKey(String nameKey);
+
+    Optional<IdAndVersion> findVersionById(String id);
+
+    Optional<IdAndVersion> findVersionByNameKey(String nameKey);
+
+    default Optional<HomeApplianceView> findByNameIgnoreCase(String name) {
+        return findByNameKey(NameKey.of(name));
+    }
+
+    @Query("SELECT v FROM HomeApplianceView v ORDER BY v.name, v.id")
+    List<HomeApplianceView> seekByName(Pageable pageable);
+
+    @Query("SELECT v FROM HomeApplianceView v WHERE v.name >= :name AND (v.name > :name OR v.id > :id) ORDER BY v.name, v.id")
+    List<HomeApplianceView> seekByNameAfter(@Param("name") String name, @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT v FROM HomeApplianceView v ORDER BY v.id")
+    List<HomeApplianceView> seekById(Pageable pageable);
+
+    @Query("SELECT v FROM HomeApplianceView v WHERE v.id > :id ORDER BY v.id")
+    List<HomeApplianceView> seekByIdAfter(@Param("id") String id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT v FROM HomeApplianceView v")
+    Stream<HomeApplianceView> streamAll();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM HomeApplianceView v WHERE v.id = :id")
+    int removeById(@Param("id") String id);
+
+    @Query("SELECT v.id AS id, v.inventory AS inventory, v.version AS version FROM HomeApplianceView v WHERE v.id = :id")
+    Optional<InventoryLevel> findInventoryById(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE HomeApplianceView v SET v.inventory = COALESCE(v.inventory, 0) + :delta, v.version = v.version + 1 " +
+            "WHERE v.id = :id")
+    int addInventory(@Param("id") String id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE HomeApplianceView v SET v.version = v.version + 1, " +
+            "v.power = :#{#consumption.power}, " +
+            "v.monthlyUsage = :#{#consumption.monthlyUsage}, " +
+            "v.dailyUse = :#{#consumption.dailyUse}, " +
+            "v.monthlyConsumptionAverage = :#{#consumption.monthlyConsumptionAverage} " +
+            "WHERE v.energyConsumptionName = :#{#consumption.name}")
+    int updateEnergyConsumption(@Param("consumption") EnergyConsumption consumption);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = "tb_home_appliance_view"))
+    @Query(nativeQuery = true, value = "INSERT INTO tb_home_appliance_view (id, name, name_key, description, price, " +
+            "inventory, portable, voltage, classification, energy_consumption_name, power, monthly_usage, daily_use, " +
+            "monthly_consumption_average, version) " +
+            "SELECT p.id, p.name, p.name_key, p.description, p.price, p.inventory, h.portable, h.voltage, " +
+            "h.classification, e.name, e.power, e.monthly_usage, e.daily_use, e.monthly_consumption_average, p.version " +
+            "FROM tb_product p JOIN tb_home_appliance h ON h.id = p.id " +
+            "LEFT JOIN tb_energy_consumption e ON e.name = h.energy_consumption_name " +
+            "WHERE NOT EXISTS (SELECT 1 FROM tb_home_appliance_view v WHERE v.id = p.id) " +
+            "ON CONFLICT DO NOTHING")
+    int insertMissingFromBaseTables();
+
+    interface IdAndVersion {
+
+        String getId();
+
+        Long getVersion();
+    }
+
+    interface InventoryLevel extends IdAndVersion {
+
+        Integer getInventory();
+    }
+}
@@ -0,0 +1,10 @@
+package com.bruno.productregistration.repositories;
+
+import java.util.Map;
+
+public interface InventoryRepository {
+
+    int addInventory(String id, int delta);
+
+    void addInventories(Map<String, Integer> deltas);
+}
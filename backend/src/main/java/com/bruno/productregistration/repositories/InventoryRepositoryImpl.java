@@ -0,0 +1,68 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.entities.Product;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.type.Type;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+/**
+ * Inventory deltas written with plain JDBC, so a single conditional statement replaces the read-modify-write
+ * and many deltas go in one batch. Ids are bound through the Hibernate id type, so they work with every id storage.
+ */
+public class InventoryRepositoryImpl implements InventoryRepository {
+
+    private static final String ADD_INVENTORY = "UPDATE tb_product SET inventory = COALESCE(inventory, 0) + ?, " +
+            "version = version + 1 WHERE id = ? AND COALESCE(inventory, 0) + ? >= 0";
+
+    private static final String[] ADD_INVENTORIES = {
+            "UPDATE tb_product SET inventory = COALESCE(inventory, 0) + ?, version = version + 1 WHERE id = ?",
+            "UPDATE tb_home_appliance_view SET inventory = COALESCE(inventory, 0) + ?, version = version + 1 WHERE id = ?"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    @Override
+    public int addInventory(String id, int delta) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Type idType = idType(session);
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_INVENTORY)) {
+                statement.setInt(1, delta);
+                idType.nullSafeSet(statement, id, 2, session);
+                statement.setInt(3, delta);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Transactional
+    @Override
+    public void addInventories(Map<String, Integer> deltas) {
+        if (deltas.isEmpty()) return;
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Type idType = idType(session);
+        session.doWork(connection -> {
+            for (String sql : ADD_INVENTORIES) {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+                        statement.setInt(1, delta.getValue());
+                        idType.nullSafeSet(statement, delta.getKey(), 2, session);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    private static Type idType(SessionImplementor session) {
+        return session.getFactory().getMetamodel().entityPersister(Product.class).getIdentifierType();
+    }
+}
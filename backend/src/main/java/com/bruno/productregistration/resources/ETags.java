@@ -0,0 +1,115 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.config.BinaryFormatConfig;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.services.exceptions.PreconditionFailedException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entity tags of the appliance resources. A single appliance is tagged with its id and version, so
+ * the tag can be checked without loading the row; a list is tagged with a digest of the ids and versions
+ * it contains plus whatever else shapes the response. The tag is strong for the plain JSON body only, every
+ * other representation carries its weak form.
+ */
+final class ETags {
+
+    private static final String WILDCARD = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final List<MediaType> BINARY_TYPES = List.of(
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType(BinaryFormatConfig.APPLICATION_SMILE_VALUE));
+
+    private ETags() {
+    }
+
+    static String of(HomeApplianceDTO homeApplianceDTO) {
+        return of(homeApplianceDTO.getId(), homeApplianceDTO.getVersion());
+    }
+
+    static String of(String id, Long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    /**
+     * The gzipped, CBOR, Smile and fields= bodies of a single appliance are other representations of the same
+     * version, so they carry the weak form of the tag.
+     */
+    static String weak(String etag) {
+        return WEAK_PREFIX + etag;
+    }
+
+    /**
+     * Form of the tag for the body the Accept header negotiates: the tag itself for JSON and its weak form for CBOR
+     * and Smile. The most preferred accepted type decides, the way Spring MVC picks among the three converters.
+     */
+    static String negotiated(String etag, String accept) {
+        return acceptsBinary(accept) ? weak(etag) : etag;
+    }
+
+    static String of(Collection<HomeApplianceDTO> homeApplianceDTOs, Object... shape) {
+        StringBuilder content = new StringBuilder();
+        for (Object value : shape) content.append(value).append('|');
+        for (HomeApplianceDTO homeApplianceDTO : homeApplianceDTOs)
+            content.append(homeApplianceDTO.getId()).append('.').append(homeApplianceDTO.getVersion()).append('|');
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static boolean acceptsBinary(String accept) {
+        if (accept == null) return false;
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) return false;
+            if (BINARY_TYPES.stream().anyMatch(mediaType::isCompatibleWith)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Weak comparison, as required for If-None-Match.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals(WILDCARD)) return true;
+            if (opaque(candidate).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+
+    /**
+     * Version an If-Match header requires for the appliance with the given id, or null when any version is
+     * accepted. If-Match uses the strong comparison, so weak tags fail the precondition like tags that could not
+     * belong to the appliance; the strong tag is the one sent with the plain JSON body.
+     */
+    static Long expectedVersion(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.trim().equals(WILDCARD)) return null;
+        String prefix = "\"" + id + ".";
+        for (String candidate : ifMatch.split(",")) {
+            candidate = candidate.trim();
+            if (!candidate.startsWith(prefix) || !candidate.endsWith("\"")) continue;
+            String version = candidate.substring(prefix.length(), candidate.length() - 1);
+            if (!version.isEmpty() && version.length() < 19 && version.chars().allMatch(Character::isDigit))
+                return Long.valueOf(version);
+        }
+        throw new PreconditionFailedException(id);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bruno.productregistration.resources;
 
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.services.EnergyConsumptionService;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,15 @@ public class EnergyConsumptionResource {
         return ResponseEntity.ok(energyConsumptionService.findAll(pageable));
     }
 
+    @GetMapping(value = "/cursor")
+    public ResponseEntity<CursorPageDTO<EnergyConsumptionDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ){
+        return ResponseEntity.ok(energyConsumptionService.findAll(cursor, size, withTotal));
+    }
+
     @GetMapping(value = "/id/{id}")
     public ResponseEntity<EnergyConsumptionDTO> findById(@PathVariable String id){
         return ResponseEntity.ok(energyConsumptionService.findById(id));
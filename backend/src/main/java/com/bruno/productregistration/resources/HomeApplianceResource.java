@@ -1,52 +1,258 @@
 package com.bruno.productregistration.resources;
 
+import com.bruno.productregistration.config.BinaryFormatConfig;
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.BatchLookupDTO;
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.HomeApplianceFields;
+import com.bruno.productregistration.dto.InventoryDTO;
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import com.bruno.productregistration.services.impl.HomeApplianceJsonCache.SerializedAppliance;
 import com.bruno.productregistration.services.impl.HomeApplianceServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(value = "/api/v1/appliances")
 public class HomeApplianceResource {
 
+    private static final String GZIP = "gzip";
+
     private final HomeApplianceServiceImpl homeApplianceService;
 
     @PostMapping
-    public ResponseEntity<HomeApplianceDTO> save(@Valid @RequestBody HomeApplianceDTO product) {
+    public ResponseEntity<HomeApplianceDTO> save(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Valid @RequestBody HomeApplianceDTO product
+    ) {
         product = homeApplianceService.save(product);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(product.getId())
                 .toUri();
-        return ResponseEntity.created(uri).body(product);
+        return ResponseEntity.created(uri).eTag(ETags.negotiated(ETags.of(product), accept)).body(product);
+    }
+
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> saveAll(@RequestBody List<HomeApplianceDTO> products) {
+        return ResponseEntity.ok(homeApplianceService.saveAll(products));
     }
 
     @GetMapping
-    public ResponseEntity<Page<HomeApplianceDTO>> findAll(Pageable pageable) {
-        return ResponseEntity.ok(homeApplianceService.findAll(pageable));
+    public ResponseEntity<Page<HomeApplianceDTO>> findAll(
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        Page<HomeApplianceDTO> page = homeApplianceService.findAll(pageable);
+        return ResponseEntity.ok()
+                .eTag(ETags.negotiated(ETags.of(page.getContent(), page.getNumber(), page.getSize(), page.getSort(), page.getTotalElements()), accept))
+                .body(page);
+    }
+
+    @GetMapping(value = "/cursor")
+    public ResponseEntity<CursorPageDTO<HomeApplianceDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        CursorPageDTO<HomeApplianceDTO> page = homeApplianceService.findAll(cursor, size, sort, withTotal);
+        return ResponseEntity.ok()
+                .eTag(ETags.negotiated(ETags.of(page.getContent(), page.getSize(), page.getNext(), page.getTotal()), accept))
+                .body(page);
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<Page<Map<String, Object>>> findFields(
+            Pageable pageable,
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        HomeApplianceFields selection = HomeApplianceFields.parse(fields);
+        Page<HomeApplianceDTO> page = homeApplianceService.findAll(pageable, selection);
+        String etag = ETags.of(page.getContent(), selection.names(), page.getNumber(), page.getSize(), page.getSort(), page.getTotalElements());
+        return ResponseEntity.ok()
+                .eTag(ETags.negotiated(etag, accept))
+                .body(page.map(selection::select));
+    }
+
+    @GetMapping(value = "/cursor", params = "fields")
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> findFields(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        HomeApplianceFields selection = HomeApplianceFields.parse(fields);
+        CursorPageDTO<HomeApplianceDTO> page = homeApplianceService.findAll(cursor, size, sort, withTotal, selection);
+        return ResponseEntity.ok()
+                .eTag(ETags.negotiated(ETags.of(page.getContent(), selection.names(), page.getSize(), page.getNext(), page.getTotal()), accept))
+                .body(CursorPageDTO.<Map<String, Object>>builder()
+                        .content(page.getContent().stream().map(selection::select).collect(Collectors.toList()))
+                        .size(page.getSize())
+                        .next(page.getNext())
+                        .total(page.getTotal())
+                        .build());
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        if (format.equalsIgnoreCase("csv")) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(homeApplianceService::exportAsCsv);
+        }
+        if (!format.equalsIgnoreCase("ndjson"))
+            throw new IncorrectValueException("Invalid format: " + format + "! Use 'ndjson' or 'csv'.");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(homeApplianceService::exportAsNdjson);
     }
 
     @GetMapping(value = "/id/{id}")
-    public ResponseEntity<HomeApplianceDTO> findById(@PathVariable String id){
-        return ResponseEntity.ok(homeApplianceService.findById(id));
+    public ResponseEntity<byte[]> findById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ){
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<byte[]>> notModified = homeApplianceService.findVersionById(id)
+                    .map(ETags::of)
+                    .flatMap(etag -> notModified(ifNoneMatch, gzip ? ETags.weak(etag) : etag));
+            if (notModified.isPresent()) return notModified.get();
+        }
+        SerializedAppliance product = homeApplianceService.findSerializedById(id);
+        String etag = ETags.of(product.getId(), product.getVersion());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) return response.eTag(etag).body(product.getJson());
+        return response.eTag(ETags.weak(etag)).header(HttpHeaders.CONTENT_ENCODING, GZIP).body(product.getGzip());
+    }
+
+    @GetMapping(value = "/id/{id}", produces = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<HomeApplianceDTO> findBinaryById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<HomeApplianceDTO>> notModified = homeApplianceService.findVersionById(id)
+                    .map(version -> ETags.weak(ETags.of(version)))
+                    .flatMap(etag -> notModified(ifNoneMatch, etag));
+            if (notModified.isPresent()) return notModified.get();
+        }
+        HomeApplianceDTO product = homeApplianceService.findById(id);
+        return ResponseEntity.ok().eTag(ETags.weak(ETags.of(product))).body(product);
+    }
+
+    @GetMapping(value = "/id/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> findFieldsById(
+            @PathVariable String id,
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        HomeApplianceFields selection = HomeApplianceFields.parse(fields);
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<Map<String, Object>>> notModified = homeApplianceService.findVersionById(id)
+                    .map(version -> ETags.weak(ETags.of(version)))
+                    .flatMap(etag -> notModified(ifNoneMatch, etag));
+            if (notModified.isPresent()) return notModified.get();
+        }
+        HomeApplianceDTO product = homeApplianceService.findById(id, selection);
+        return ResponseEntity.ok().eTag(ETags.weak(ETags.of(product))).body(selection.select(product));
+    }
+
+    @GetMapping(value = "/ids")
+    public ResponseEntity<BatchLookupDTO<HomeApplianceDTO>> findAllById(
+            @RequestParam List<String> ids,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        BatchLookupDTO<HomeApplianceDTO> lookup = homeApplianceService.findAllById(ids);
+        return ResponseEntity.ok()
+                .eTag(ETags.negotiated(ETags.of(lookup.getContent(), lookup.getMissing()), accept))
+                .body(lookup);
+    }
+
+    @PostMapping(value = "/ids")
+    public ResponseEntity<BatchLookupDTO<HomeApplianceDTO>> findAllByIdInBody(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(homeApplianceService.findAllById(ids));
+    }
+
+    @GetMapping(value = "/name/{name}", params = "fields")
+    public ResponseEntity<Map<String, Object>> findFieldsByNameIgnoreCase(
+            @PathVariable String name,
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        HomeApplianceFields selection = HomeApplianceFields.parse(fields);
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<Map<String, Object>>> notModified = homeApplianceService.findVersionByNameIgnoreCase(name)
+                    .map(version -> ETags.weak(ETags.of(version)))
+                    .flatMap(etag -> notModified(ifNoneMatch, etag));
+            if (notModified.isPresent()) return notModified.get();
+        }
+        HomeApplianceDTO product = homeApplianceService.findByNameIgnoreCase(name, selection);
+        return ResponseEntity.ok().eTag(ETags.weak(ETags.of(product))).body(selection.select(product));
     }
 
     @GetMapping(value = "/name/{name}")
-    public ResponseEntity<HomeApplianceDTO> findByNameIgnoreCase(@PathVariable String name){
-        return ResponseEntity.ok(homeApplianceService.findByNameIgnoreCase(name));
+    public ResponseEntity<HomeApplianceDTO> findByNameIgnoreCase(
+            @PathVariable String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ){
+        if (ifNoneMatch != null) {
+            Optional<ResponseEntity<HomeApplianceDTO>> notModified = homeApplianceService.findVersionByNameIgnoreCase(name)
+                    .map(version -> ETags.negotiated(ETags.of(version), accept))
+                    .flatMap(etag -> notModified(ifNoneMatch, etag));
+            if (notModified.isPresent()) return notModified.get();
+        }
+        HomeApplianceDTO product = homeApplianceService.findByNameIgnoreCase(name);
+        return ResponseEntity.ok().eTag(ETags.negotiated(ETags.of(product), accept)).body(product);
     }
 
     @PutMapping(value = "/{id}")
-    public ResponseEntity<HomeApplianceDTO> update(@PathVariable String id, @Valid @RequestBody HomeApplianceDTO homeApplianceDTO){
-        return ResponseEntity.ok(homeApplianceService.update(id, homeApplianceDTO));
+    public ResponseEntity<HomeApplianceDTO> update(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Valid @RequestBody HomeApplianceDTO homeApplianceDTO
+    ){
+        HomeApplianceDTO product = homeApplianceService.update(id, homeApplianceDTO, ETags.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(ETags.negotiated(ETags.of(product), accept)).body(product);
+    }
+
+    @PatchMapping(value = "/{id}/inventory")
+    public ResponseEntity<InventoryDTO> addInventory(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Valid @RequestBody InventoryDTO inventoryDTO
+    ){
+        InventoryDTO inventory = homeApplianceService.addInventory(id, inventoryDTO.getDelta());
+        if (inventory.getVersion() == null) return ResponseEntity.ok(inventory);
+        return ResponseEntity.ok().eTag(ETags.negotiated(ETags.of(inventory.getId(), inventory.getVersion()), accept)).body(inventory);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -54,4 +260,23 @@ public class HomeApplianceResource {
         homeApplianceService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static <T> Optional<ResponseEntity<T>> notModified(String ifNoneMatch, String etag) {
+        if (!ETags.matches(ifNoneMatch, etag)) return Optional.empty();
+        return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase(GZIP)) continue;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
 }
@@ -5,7 +5,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "appliances", url = "https://happliance.herokuapp.com/api/v1/appliances")
+@FeignClient(name = "appliances", url = "${energy-consumption-api.url}")
 public interface EnergyConsumptionAPIService {
 
     @GetMapping(value = "/name")
@@ -1,18 +1,26 @@
 package com.bruno.productregistration.services;
 
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.entities.EnergyConsumption;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface EnergyConsumptionService {
 
     EnergyConsumptionDTO save(EnergyConsumptionDTO consumptionDTO);
 
     Page<EnergyConsumptionDTO> findAll(Pageable pageable);
 
+    CursorPageDTO<EnergyConsumptionDTO> findAll(String cursor, int size, boolean withTotal);
+
     EnergyConsumption findByNameIgnoreCase(EnergyConsumptionDTO consumptionDTO);
 
+    Map<String, EnergyConsumption> saveAll(Collection<EnergyConsumptionDTO> consumptionDTOs);
+
     EnergyConsumptionDTO findById(String id);
 
     EnergyConsumptionDTO update(String name, EnergyConsumptionDTO energyConsumptionDTO);
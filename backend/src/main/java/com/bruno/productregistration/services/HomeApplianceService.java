@@ -1,20 +1,56 @@
 package com.bruno.productregistration.services;
 
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.BatchLookupDTO;
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.HomeApplianceFields;
+import com.bruno.productregistration.dto.InventoryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+
 public interface HomeApplianceService {
 
     HomeApplianceDTO save(HomeApplianceDTO homeApplianceDTO);
 
+    List<BatchItemResultDTO> saveAll(List<HomeApplianceDTO> homeApplianceDTOs);
+
     HomeApplianceDTO findByNameIgnoreCase(String name);
 
     HomeApplianceDTO findById(String id);
 
+    HomeApplianceDTO findByNameIgnoreCase(String name, HomeApplianceFields fields);
+
+    HomeApplianceDTO findById(String id, HomeApplianceFields fields);
+
+    BatchLookupDTO<HomeApplianceDTO> findAllById(List<String> ids);
+
+    Optional<HomeApplianceDTO> findVersionById(String id);
+
+    Optional<HomeApplianceDTO> findVersionByNameIgnoreCase(String name);
+
     Page<HomeApplianceDTO> findAll(Pageable pageable);
 
+    CursorPageDTO<HomeApplianceDTO> findAll(String cursor, int size, String sort, boolean withTotal);
+
+    Page<HomeApplianceDTO> findAll(Pageable pageable, HomeApplianceFields fields);
+
+    CursorPageDTO<HomeApplianceDTO> findAll(String cursor, int size, String sort, boolean withTotal, HomeApplianceFields fields);
+
+    void exportAsNdjson(OutputStream outputStream) throws IOException;
+
+    void exportAsCsv(OutputStream outputStream) throws IOException;
+
     HomeApplianceDTO update(String id, HomeApplianceDTO homeApplianceDTO);
 
+    HomeApplianceDTO update(String id, HomeApplianceDTO homeApplianceDTO, Long expectedVersion);
+
+    InventoryDTO addInventory(String id, int delta);
+
     void delete(String id);
 }
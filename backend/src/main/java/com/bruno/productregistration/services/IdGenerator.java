@@ -0,0 +1,27 @@
+package com.bruno.productregistration.services;
+
+/**
+ * Strategy used to assign ids to new products. Every implementation returns the canonical
+ * lowercase form of a UUID.
+ */
+public interface IdGenerator {
+
+    String newId();
+
+    /**
+     * Whether the id is a canonical lowercase UUID of the RFC 4122 variant, so a client supplied id can be kept.
+     */
+    static boolean isCanonical(String id) {
+        if (id.length() != 36) return false;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        char variant = id.charAt(19);
+        return variant == '8' || variant == '9' || variant == 'a' || variant == 'b';
+    }
+}
@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class ExistingResourceException extends RuntimeException {
+public class ExistingResourceException extends StacklessException {
 
     public ExistingResourceException(String name) {
         super("There is an object registered with the name: " + name);
@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class IncorrectValueException extends RuntimeException {
+public class IncorrectValueException extends StacklessException {
 
     public IncorrectValueException(String message) {
         super(message);
@@ -0,0 +1,12 @@
+package com.bruno.productregistration.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientInventoryException extends StacklessException {
+
+    public InsufficientInventoryException(String id, int delta) {
+        super("The inventory of the object '" + id + "' is not enough to remove " + -delta + " items!");
+    }
+}
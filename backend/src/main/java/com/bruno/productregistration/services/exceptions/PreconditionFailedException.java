@@ -0,0 +1,12 @@
+package com.bruno.productregistration.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends StacklessException {
+
+    public PreconditionFailedException(String value) {
+        super("The object '" + value + "' was modified, its current version does not match the If-Match header!");
+    }
+}
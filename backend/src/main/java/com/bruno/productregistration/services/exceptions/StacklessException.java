@@ -0,0 +1,12 @@
+package com.bruno.productregistration.services.exceptions;
+
+/**
+ * Base of the expected business errors. They are mapped to a response by the exception handler and never
+ * logged with a trace, so the stack trace is not filled in and suppression is disabled.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
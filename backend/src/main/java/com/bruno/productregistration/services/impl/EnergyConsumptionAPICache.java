@@ -0,0 +1,136 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.EnergyConsumptionAPIService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Bounded cache in front of {@link EnergyConsumptionAPIService}. Names the remote API doesn't know
+ * are remembered for the (shorter) negative TTL; other remote failures are never cached. Remote calls
+ * go through the circuit breaker, and while the remote API fails the last known value of a name is
+ * served until the stale TTL is over.
+ */
+@Component
+@Log4j2
+public class EnergyConsumptionAPICache {
+
+    static final String CACHE_NAME = "energyConsumptionAPI";
+
+    private final EnergyConsumptionAPIService energyConsumptionAPIService;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Cache<String, Optional<EnergyConsumption>> cache;
+
+    private final Cache<String, EnergyConsumption> lastKnown;
+
+    public EnergyConsumptionAPICache(
+            EnergyConsumptionAPIService energyConsumptionAPIService,
+            CircuitBreaker energyConsumptionAPICircuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${energy-consumption-api.cache.maximum-size:1000}") long maximumSize,
+            @Value("${energy-consumption-api.cache.positive-ttl:1h}") Duration positiveTtl,
+            @Value("${energy-consumption-api.cache.negative-ttl:5m}") Duration negativeTtl,
+            @Value("${energy-consumption-api.cache.stale-ttl:24h}") Duration staleTtl
+    ) {
+        this.energyConsumptionAPIService = energyConsumptionAPIService;
+        this.circuitBreaker = energyConsumptionAPICircuitBreaker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LookupExpiry(positiveTtl, negativeTtl))
+                .recordStats()
+                .build();
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<EnergyConsumption> getConsumption(String name) {
+        String key = key(name);
+        try {
+            return cache.get(key, k -> fetch(k, name)).map(EnergyConsumptionAPICache::copyOf);
+        } catch (FeignException | CallNotPermittedException e) {
+            EnergyConsumption stale = lastKnown.getIfPresent(key);
+            if (stale == null) throw e;
+            log.info("The energy consumption API is unavailable, serving the last known value of " + name + "!");
+            return Optional.of(copyOf(stale));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private Optional<EnergyConsumption> fetch(String key, String name) {
+        try {
+            EnergyConsumption consumption = circuitBreaker.executeSupplier(() -> energyConsumptionAPIService.getConsumption(name));
+            if (consumption != null) lastKnown.put(key, consumption);
+            return Optional.ofNullable(consumption);
+        } catch (FeignException.NotFound e) {
+            log.info("The energy consumption API has no information about " + name + "!");
+            return Optional.empty();
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static EnergyConsumption copyOf(EnergyConsumption consumption) {
+        return EnergyConsumption.builder()
+                .name(consumption.getName())
+                .power(consumption.getPower())
+                .monthlyUsage(consumption.getMonthlyUsage())
+                .dailyUse(consumption.getDailyUse())
+                .monthlyConsumptionAverage(consumption.getMonthlyConsumptionAverage())
+                .build();
+    }
+
+    private static class LookupExpiry implements Expiry<String, Optional<EnergyConsumption>> {
+
+        private final long positiveTtlNanos;
+
+        private final long negativeTtlNanos;
+
+        LookupExpiry(Duration positiveTtl, Duration negativeTtl) {
+            this.positiveTtlNanos = positiveTtl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<EnergyConsumption> value, long currentTime) {
+            return value.isPresent() ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<EnergyConsumption> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<EnergyConsumption> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
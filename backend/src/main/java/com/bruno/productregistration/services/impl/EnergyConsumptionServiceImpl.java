@@ -1,40 +1,79 @@
 package com.bruno.productregistration.services.impl;
 
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.NameKey;
 import com.bruno.productregistration.repositories.EnergyConsumptionRepository;
-import com.bruno.productregistration.services.EnergyConsumptionAPIService;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
 import com.bruno.productregistration.services.EnergyConsumptionService;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
 import feign.FeignException;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Log4j2
 public class EnergyConsumptionServiceImpl implements EnergyConsumptionService {
 
     private final EnergyConsumptionRepository energyConsumptionRepository;
 
-    private final EnergyConsumptionAPIService energyConsumptionAPIService;
+    private final EnergyConsumptionAPICache energyConsumptionAPICache;
+
+    private final HomeApplianceRepository homeApplianceRepository;
+
+    private final HomeApplianceViewRepository homeApplianceViewRepository;
+
+    private final HomeApplianceJsonCache homeApplianceJsonCache;
+
+    private final TransactionTemplate newTransaction;
+
+    private final SingleFlight<String, EnergyConsumptionDTO> lookupCalls = new SingleFlight<>();
+
+    public EnergyConsumptionServiceImpl(
+            EnergyConsumptionRepository energyConsumptionRepository,
+            EnergyConsumptionAPICache energyConsumptionAPICache,
+            HomeApplianceRepository homeApplianceRepository,
+            HomeApplianceViewRepository homeApplianceViewRepository,
+            HomeApplianceJsonCache homeApplianceJsonCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.energyConsumptionRepository = energyConsumptionRepository;
+        this.energyConsumptionAPICache = energyConsumptionAPICache;
+        this.homeApplianceRepository = homeApplianceRepository;
+        this.homeApplianceViewRepository = homeApplianceViewRepository;
+        this.homeApplianceJsonCache = homeApplianceJsonCache;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
+    /**
+     * Concurrent saves of the same name share one lookup and one insert. The caller that runs them does so in a
+     * transaction of its own, committed before the others are handed the result, so the row they then reference
+     * is visible to them whatever becomes of the leader's transaction.
+     */
+    @Transactional
     @Override
     public EnergyConsumptionDTO save(EnergyConsumptionDTO consumptionDTO) {
-        consumptionDTO = checkEnergyConsumptionObject(consumptionDTO);
-        try {
-            if (consumptionDTO != null) {
-                EnergyConsumption consumption = energyConsumptionRepository.save(fromDTO(consumptionDTO));
-                return EnergyConsumptionDTO.toDTO(consumption);
-            }
-        } catch (NullPointerException e) {
-            log.info("The EnergyConsumption object was null!");
-        }
-        return consumptionDTO;
+        if (consumptionDTO == null || consumptionDTO.getName() == null) return checkEnergyConsumptionObject(consumptionDTO);
+        return lookupCalls.execute(NameKey.of(consumptionDTO.getName()),
+                () -> newTransaction.execute(status -> register(consumptionDTO)));
+    }
+
+    public EnergyConsumption getReference(String name) {
+        return energyConsumptionRepository.getById(name);
     }
 
     @Transactional(readOnly = true)
@@ -43,27 +82,57 @@ public class EnergyConsumptionServiceImpl implements EnergyConsumptionService {
         return energyConsumptionRepository.findAll(pageable).map(EnergyConsumptionDTO::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<EnergyConsumptionDTO> findAll(String cursor, int size, boolean withTotal) {
+        KeysetCursor.checkSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<EnergyConsumption> consumptions = cursor == null
+                ? energyConsumptionRepository.seekByName(limit)
+                : energyConsumptionRepository.seekByNameAfter(KeysetCursor.decode(cursor, "name").getKey(), limit);
+        String next = null;
+        if (consumptions.size() > size) {
+            consumptions = consumptions.subList(0, size);
+            String last = consumptions.get(size - 1).getName();
+            next = new KeysetCursor("name", last, last).encode();
+        }
+        return CursorPageDTO.<EnergyConsumptionDTO>builder()
+                .content(consumptions.stream().map(EnergyConsumptionDTO::toDTO).collect(Collectors.toList()))
+                .size(size)
+                .next(next)
+                .total(withTotal ? energyConsumptionRepository.count() : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     @Override
     public EnergyConsumption findByNameIgnoreCase(EnergyConsumptionDTO consumptionDTO) {
         return energyConsumptionRepository.findByNameIgnoreCase(consumptionDTO.getName())
-                .orElseGet(() -> {
-                    try {
-                        EnergyConsumption newConsumption = energyConsumptionAPIService.getConsumption(consumptionDTO.getName());
-                        return newConsumption;
-                    } catch (FeignException e) {
-                        log.info("Energy consumptionDTO information about " + consumptionDTO.getName() + " was not found!");
-                    } catch (NullPointerException e) {
-                        log.info(e.getLocalizedMessage());
-                    }
-                    return EnergyConsumption.builder()
-                            .name(consumptionDTO.getName())
-                            .power(consumptionDTO.getPower())
-                            .monthlyUsage(consumptionDTO.getMonthlyUsage())
-                            .dailyUse(consumptionDTO.getDailyUse())
-                            .monthlyConsumptionAverage(consumptionDTO.getMonthlyConsumptionAverage())
-                            .build();
-                });
+                .orElseGet(() -> findRemotely(consumptionDTO));
+    }
+
+    @Transactional
+    @Override
+    public Map<String, EnergyConsumption> saveAll(Collection<EnergyConsumptionDTO> consumptionDTOs) {
+        Map<String, EnergyConsumptionDTO> requested = new LinkedHashMap<>();
+        for (EnergyConsumptionDTO consumptionDTO : consumptionDTOs) {
+            if (consumptionDTO != null && consumptionDTO.getName() != null && consumptionDTO.getName().length() > 2)
+                requested.putIfAbsent(NameKey.of(consumptionDTO.getName()), consumptionDTO);
+        }
+        Map<String, EnergyConsumption> consumptions = new HashMap<>();
+        if (requested.isEmpty()) return consumptions;
+        energyConsumptionRepository.findByNameKeyIn(requested.keySet())
+                .forEach(consumption -> consumptions.put(consumption.getNameKey(), consumption));
+        List<EnergyConsumption> newConsumptions = new ArrayList<>();
+        requested.forEach((key, consumptionDTO) -> {
+            if (consumptions.containsKey(key)) return;
+            EnergyConsumption consumption = findRemotely(consumptionDTO);
+            consumption.setName(consumptionDTO.getName());
+            consumptions.put(key, consumption);
+            newConsumptions.add(consumption);
+        });
+        energyConsumptionRepository.persistAll(newConsumptions);
+        return consumptions;
     }
 
     @Transactional(readOnly = true)
@@ -74,31 +143,53 @@ public class EnergyConsumptionServiceImpl implements EnergyConsumptionService {
         return EnergyConsumptionDTO.toDTO(consumption);
     }
 
+    @Transactional
     @Override
     public EnergyConsumptionDTO update(String name, EnergyConsumptionDTO consumptionDTO) {
         findById(name);
         consumptionDTO.setName(name);
-        EnergyConsumption consumption = energyConsumptionRepository.save(fromDTO(consumptionDTO));
+        EnergyConsumption consumption = energyConsumptionRepository.saveAndFlush(fromDTO(consumptionDTO));
+        homeApplianceRepository.incrementVersionByEnergyConsumption(consumption.getName());
+        homeApplianceViewRepository.updateEnergyConsumption(consumption);
+        homeApplianceJsonCache.invalidateAll();
         return EnergyConsumptionDTO.toDTO(consumption);
     }
 
+    @Transactional
     @Override
     public void delete(String name) {
         findById(name);
         energyConsumptionRepository.deleteById(name);
     }
 
+    private EnergyConsumptionDTO register(EnergyConsumptionDTO consumptionDTO) {
+        EnergyConsumptionDTO resolved = checkEnergyConsumptionObject(consumptionDTO);
+        if (resolved.getName() != null && energyConsumptionRepository.findById(resolved.getName()).isEmpty())
+            energyConsumptionRepository.insertIfAbsent(fromDTO(resolved));
+        return resolved;
+    }
+
     private EnergyConsumptionDTO checkEnergyConsumptionObject(EnergyConsumptionDTO consumptionDTO) {
-        try {
-            if (consumptionDTO.getName().length() > 2) {
-                Integer power = consumptionDTO.getPower();
-                EnergyConsumption consumption = findByNameIgnoreCase(consumptionDTO);
-                return EnergyConsumptionDTO.toDTO(consumption);
-            }
-        } catch (NullPointerException e) {
+        if (consumptionDTO == null || consumptionDTO.getName() == null) {
             log.info("One of the energy consumption object attribute was null!");
+            return EnergyConsumptionDTO.builder().build();
+        }
+        if (consumptionDTO.getName().length() <= 2) return EnergyConsumptionDTO.builder().build();
+        return EnergyConsumptionDTO.toDTO(findByNameIgnoreCase(consumptionDTO));
+    }
+
+    private EnergyConsumption findRemotely(EnergyConsumptionDTO consumptionDTO) {
+        if (consumptionDTO.getName() == null) return fromDTO(consumptionDTO);
+        try {
+            Optional<EnergyConsumption> newConsumption = energyConsumptionAPICache.getConsumption(consumptionDTO.getName());
+            if (newConsumption.isPresent()) return newConsumption.get();
+            log.info("Energy consumptionDTO information about " + consumptionDTO.getName() + " was not found!");
+        } catch (FeignException e) {
+            log.info("Energy consumptionDTO information about " + consumptionDTO.getName() + " was not found!");
+        } catch (CallNotPermittedException e) {
+            log.info("The energy consumption API is unavailable! " + e.getMessage());
         }
-        return EnergyConsumptionDTO.builder().build();
+        return fromDTO(consumptionDTO);
     }
 
     private EnergyConsumption fromDTO(EnergyConsumptionDTO consumptionDTO){
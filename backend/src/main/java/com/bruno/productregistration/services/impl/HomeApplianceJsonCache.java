@@ -0,0 +1,140 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of single appliances, plain and gzipped, weighed by their size in bytes. Writers invalidate the
+ * ids they touch once their transaction is over; a reader that raced with an invalidation drops what it has just
+ * cached, so an entry is never older than the last committed write of its appliance.
+ */
+@Component
+public class HomeApplianceJsonCache {
+
+    static final String CACHE_NAME = "homeApplianceJson";
+
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ObjectWriter writer;
+
+    private final Cache<String, SerializedAppliance> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public HomeApplianceJsonCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${appliances.json-cache.maximum-weight:33554432}") long maximumWeight,
+            @Value("${appliances.json-cache.ttl:10m}") Duration ttl
+    ) {
+        this.writer = objectMapper.writerFor(HomeApplianceDTO.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .<String, SerializedAppliance>weigher((id, appliance) -> appliance.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<SerializedAppliance> getIfPresent(String id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public SerializedAppliance get(String id, Supplier<HomeApplianceDTO> loader) {
+        SerializedAppliance cached = cache.getIfPresent(id);
+        if (cached != null) return cached;
+        long seen = invalidations.get();
+        SerializedAppliance appliance = serialize(loader.get());
+        cache.put(id, appliance);
+        if (invalidations.get() != seen) cache.asMap().remove(id, appliance);
+        return appliance;
+    }
+
+    public void invalidate(String id) {
+        afterTransaction(() -> {
+            invalidations.incrementAndGet();
+            cache.invalidate(id);
+        });
+    }
+
+    public void invalidate(Collection<String> ids) {
+        afterTransaction(() -> {
+            invalidations.incrementAndGet();
+            cache.invalidateAll(ids);
+        });
+    }
+
+    public void invalidateAll() {
+        afterTransaction(() -> {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private SerializedAppliance serialize(HomeApplianceDTO homeApplianceDTO) {
+        try {
+            byte[] json = writer.writeValueAsBytes(homeApplianceDTO);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length);
+            try (GZIPOutputStream outputStream = new GZIPOutputStream(gzip)) {
+                outputStream.write(json);
+            }
+            return new SerializedAppliance(homeApplianceDTO.getId(), homeApplianceDTO.getVersion(), json, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void afterTransaction(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidation.run();
+            }
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SerializedAppliance {
+
+        private final String id;
+        private final Long version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private int weight() {
+            return ENTRY_OVERHEAD + id.length() + json.length + gzip.length;
+        }
+    }
+}
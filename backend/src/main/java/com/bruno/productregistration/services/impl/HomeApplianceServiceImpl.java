@@ -1,52 +1,137 @@
 package com.bruno.productregistration.services.impl;
 
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.BatchLookupDTO;
+import com.bruno.productregistration.dto.CursorPageDTO;
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.HomeApplianceFields;
+import com.bruno.productregistration.dto.InventoryDTO;
 import com.bruno.productregistration.entities.EnergyConsumption;
 import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.entities.NameKey;
 import com.bruno.productregistration.entities.enums.Classification;
 import com.bruno.productregistration.entities.enums.Voltage;
 import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
 import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.IdGenerator;
 import com.bruno.productregistration.services.exceptions.ExistingResourceException;
 import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import com.bruno.productregistration.services.exceptions.PreconditionFailedException;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Arrays;
-import java.util.Optional;
-import java.util.UUID;
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Log4j2
 public class HomeApplianceServiceImpl implements HomeApplianceService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final HomeApplianceRepository homeApplianceRepository;
 
+    private final HomeApplianceViewRepository homeApplianceViewRepository;
+
     private final EnergyConsumptionServiceImpl energyConsumptionService;
 
+    private final IdGenerator idGenerator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final HomeApplianceJsonCache homeApplianceJsonCache;
+
+    private final Optional<InventoryReservations> inventoryReservations;
+
+    @Value("${appliances.batch.max-size:5000}")
+    private int batchMaxSize;
+
+    @Value("${appliances.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${appliances.lookup.max-ids:100}")
+    private int lookupMaxIds;
+
+    @Transactional
     @Override
     public HomeApplianceDTO save(HomeApplianceDTO homeApplianceDTO) {
-        checkEnums(homeApplianceDTO);
-        checkApplianceNameValidity(homeApplianceDTO);
+        String violation = homeApplianceDTO.checkEnums();
+        if (violation != null) throw new IncorrectValueException(violation);
         setAttributeDefaultValue(homeApplianceDTO);
         saveEnergyConsumption(homeApplianceDTO);
-        HomeAppliance product = fromHomeApplianceDTO(homeApplianceDTO);
-        product = homeApplianceRepository.save(product);
-        return HomeApplianceDTO.toDTO(product);
+        HomeAppliance appliance = homeApplianceDTO.toHomeAppliance();
+        EnergyConsumption consumption = appliance.getEnergyConsumption();
+        if (consumption != null)
+            appliance.setEnergyConsumption(energyConsumptionService.getReference(consumption.getName()));
+        try {
+            homeApplianceRepository.insert(appliance);
+        } catch (DataIntegrityViolationException e) {
+            throw existingResource(e, homeApplianceDTO);
+        }
+        HomeApplianceView view = HomeApplianceView.of(appliance, consumption);
+        homeApplianceViewRepository.insert(view);
+        return HomeApplianceDTO.toDTO(view);
+    }
+
+    @Override
+    public List<BatchItemResultDTO> saveAll(List<HomeApplianceDTO> homeApplianceDTOs) {
+        if (homeApplianceDTOs.size() > batchMaxSize)
+            throw new IncorrectValueException("A batch must have " + batchMaxSize + " items maximum!");
+        List<BatchItemResultDTO> results = new ArrayList<>(homeApplianceDTOs.size());
+        for (int offset = 0; offset < homeApplianceDTOs.size(); offset += batchChunkSize) {
+            List<HomeApplianceDTO> chunk = homeApplianceDTOs.subList(offset, Math.min(offset + batchChunkSize, homeApplianceDTOs.size()));
+            int chunkOffset = offset;
+            try {
+                results.addAll(transactionTemplate.execute(status -> saveChunk(chunk, chunkOffset)));
+            } catch (DataAccessException e) {
+                log.info("The batch chunk starting at " + chunkOffset + " was rolled back! " + e.getMessage());
+                for (int i = 0; i < chunk.size(); i++)
+                    results.add(BatchItemResultDTO.rejected(chunkOffset + i, chunk.get(i), "The item could not be saved, try it again!"));
+            }
+        }
+        return results;
     }
 
     @Transactional(readOnly = true)
     @Override
     public HomeApplianceDTO findByNameIgnoreCase(String name) {
-        HomeAppliance appliance = homeApplianceRepository.findByNameIgnoreCase(name)
+        HomeApplianceView appliance = homeApplianceViewRepository.findByNameIgnoreCase(name)
                 .orElseThrow(() -> new ResourceNotFoundException(name));
         return HomeApplianceDTO.toDTO(appliance);
     }
@@ -54,72 +139,421 @@ public class HomeApplianceServiceImpl implements HomeApplianceService {
     @Transactional(readOnly = true)
     @Override
     public HomeApplianceDTO findById(String id) {
-        HomeAppliance appliance = homeApplianceRepository.findById(id)
+        HomeApplianceView appliance = homeApplianceViewRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException(id));
         return HomeApplianceDTO.toDTO(appliance);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public HomeApplianceDTO findByNameIgnoreCase(String name, HomeApplianceFields fields) {
+        return homeApplianceViewRepository.findFieldsByNameKey(fields.getAttributes(), NameKey.of(name))
+                .map(HomeApplianceFields::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException(name));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public HomeApplianceDTO findById(String id, HomeApplianceFields fields) {
+        return homeApplianceViewRepository.findFieldsById(fields.getAttributes(), id)
+                .map(HomeApplianceFields::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BatchLookupDTO<HomeApplianceDTO> findAllById(List<String> ids) {
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.size() > lookupMaxIds)
+            throw new IncorrectValueException("A lookup must have from 1 to " + lookupMaxIds + " ids!");
+        Map<String, HomeApplianceDTO> found = new HashMap<>();
+        homeApplianceViewRepository.findAllById(distinctIds).forEach(view -> found.put(view.getId(), HomeApplianceDTO.toDTO(view)));
+        List<HomeApplianceDTO> content = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : distinctIds) {
+            HomeApplianceDTO appliance = found.get(id);
+            if (appliance == null) missing.add(id);
+            else content.add(appliance);
+        }
+        return BatchLookupDTO.<HomeApplianceDTO>builder()
+                .content(content)
+                .missing(missing)
+                .build();
+    }
+
+    public HomeApplianceJsonCache.SerializedAppliance findSerializedById(String id) {
+        return homeApplianceJsonCache.get(id, () -> findById(id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<HomeApplianceDTO> findVersionById(String id) {
+        Optional<HomeApplianceJsonCache.SerializedAppliance> cached = homeApplianceJsonCache.getIfPresent(id);
+        if (cached.isPresent())
+            return Optional.of(HomeApplianceDTO.builder().id(id).version(cached.get().getVersion()).build());
+        return homeApplianceViewRepository.findVersionById(id).map(HomeApplianceServiceImpl::toVersionDTO);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<HomeApplianceDTO> findVersionByNameIgnoreCase(String name) {
+        return homeApplianceViewRepository.findVersionByNameKey(NameKey.of(name)).map(HomeApplianceServiceImpl::toVersionDTO);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<HomeApplianceDTO> findAll(Pageable pageable) {
-        return homeApplianceRepository.findAll(pageable).map(HomeApplianceDTO::toDTO);
+        return homeApplianceViewRepository.findAll(pageable).map(HomeApplianceDTO::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<HomeApplianceDTO> findAll(String cursor, int size, String sort, boolean withTotal) {
+        return this.<HomeApplianceView>seek(cursor, size, sort, withTotal,
+                (after, limit) -> after == null
+                        ? homeApplianceViewRepository.seekByName(PageRequest.of(0, limit))
+                        : homeApplianceViewRepository.seekByNameAfter(after.getKey(), after.getId(), PageRequest.of(0, limit)),
+                (after, limit) -> after == null
+                        ? homeApplianceViewRepository.seekById(PageRequest.of(0, limit))
+                        : homeApplianceViewRepository.seekByIdAfter(after.getId(), PageRequest.of(0, limit)),
+                HomeApplianceDTO::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<HomeApplianceDTO> findAll(Pageable pageable, HomeApplianceFields fields) {
+        List<HomeApplianceDTO> content = homeApplianceViewRepository.findFields(fields.getAttributes(), pageable).stream()
+                .map(HomeApplianceFields::toDTO)
+                .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, homeApplianceViewRepository::count);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<HomeApplianceDTO> findAll(String cursor, int size, String sort, boolean withTotal, HomeApplianceFields fields) {
+        return this.<Tuple>seek(cursor, size, sort, withTotal,
+                (after, limit) -> homeApplianceViewRepository.seekFieldsByName(fields.attributesWith("name"),
+                        after == null ? null : after.getKey(), after == null ? null : after.getId(), limit),
+                (after, limit) -> homeApplianceViewRepository.seekFieldsById(fields.getAttributes(),
+                        after == null ? null : after.getId(), limit),
+                HomeApplianceFields::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAsNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(HomeApplianceDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<HomeApplianceView> appliances = homeApplianceViewRepository.streamAll()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            boolean first = true;
+            for (Iterator<HomeApplianceView> iterator = appliances.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(generator, HomeApplianceDTO.toDTO(detach(iterator.next())));
+                generator.writeRaw('\n');
+                if (first) {
+                    generator.flush();
+                    first = false;
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAsCsv(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<HomeApplianceView> appliances = homeApplianceViewRepository.streamAll()) {
+            writer.write("id,name,description,price,inventory,voltage,portable,classification,energyConsumption\n");
+            writer.flush();
+            for (Iterator<HomeApplianceView> iterator = appliances.iterator(); iterator.hasNext(); ) {
+                HomeApplianceDTO appliance = HomeApplianceDTO.toDTO(detach(iterator.next()));
+                writer.write(String.join(",",
+                        csvValue(appliance.getId()),
+                        csvValue(appliance.getName()),
+                        csvValue(appliance.getDescription()),
+                        csvValue(appliance.getPrice()),
+                        csvValue(appliance.getInventory()),
+                        csvValue(appliance.getVoltage()),
+                        csvValue(appliance.getPortable()),
+                        csvValue(appliance.getClassification()),
+                        csvValue(appliance.getEnergyConsumption() == null ? null : appliance.getEnergyConsumption().getName())));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    @Transactional
     @Override
     public HomeApplianceDTO update(String id, HomeApplianceDTO homeApplianceDTO) {
-        checkEnums(homeApplianceDTO);
-        HomeApplianceDTO applianceRegistered = findById(id);
+        return update(id, homeApplianceDTO, null);
+    }
+
+    @Transactional
+    @Override
+    public HomeApplianceDTO update(String id, HomeApplianceDTO homeApplianceDTO, Long expectedVersion) {
+        String violation = homeApplianceDTO.checkEnums();
+        if (violation != null) throw new IncorrectValueException(violation);
+        inventoryReservations.ifPresent(reservations -> reservations.release(id));
+        HomeAppliance applianceRegistered = homeApplianceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(applianceRegistered.getVersion()))
+            throw new PreconditionFailedException(id);
         homeApplianceDTO.setId(id);
         if (!homeApplianceDTO.getName().equals(applianceRegistered.getName()))
             checkApplianceNameValidity(homeApplianceDTO);
         checkEnergyConsumption(applianceRegistered, homeApplianceDTO);
-        HomeAppliance appliance = fromHomeApplianceDTO(homeApplianceDTO);
-        appliance = homeApplianceRepository.save(appliance);
-        return HomeApplianceDTO.toDTO(appliance);
+        EnergyConsumption consumption = homeApplianceDTO.getEnergyConsumption();
+        updateFromDTO(applianceRegistered, homeApplianceDTO);
+        if (consumption != null)
+            applianceRegistered.setEnergyConsumption(energyConsumptionService.getReference(consumption.getName()));
+        homeApplianceRepository.flush();
+        HomeApplianceView view = homeApplianceViewRepository.findById(id).orElse(null);
+        if (view == null) {
+            view = HomeApplianceView.of(applianceRegistered, consumption);
+            homeApplianceViewRepository.insert(view);
+        } else {
+            view.copyFrom(applianceRegistered, consumption);
+        }
+        homeApplianceJsonCache.invalidate(id);
+        return HomeApplianceDTO.toDTO(view);
     }
 
-    private void checkEnums(HomeApplianceDTO homeApplianceDTO) {
-        try {
-            Voltage.toEnum(homeApplianceDTO.getVoltage());
-            Classification.toEnum(homeApplianceDTO.getClassification());
-        } catch (IllegalArgumentException e) {
-            throw new IncorrectValueException(e.getMessage());
+    private List<BatchItemResultDTO> saveChunk(List<HomeApplianceDTO> chunk, int offset) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[chunk.size()];
+        Map<Integer, HomeApplianceDTO> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            HomeApplianceDTO homeApplianceDTO = chunk.get(i);
+            String violations = validate(homeApplianceDTO);
+            if (violations != null) {
+                results[i] = BatchItemResultDTO.rejected(offset + i, homeApplianceDTO, violations);
+                continue;
+            }
+            if (homeApplianceDTO.getId() == null || !IdGenerator.isCanonical(homeApplianceDTO.getId()))
+                homeApplianceDTO.setId(idGenerator.newId());
+            accepted.put(i, homeApplianceDTO);
         }
+
+        Set<String> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        List<EnergyConsumptionDTO> consumptionDTOs = new ArrayList<>();
+        for (HomeApplianceDTO homeApplianceDTO : accepted.values()) {
+            ids.add(homeApplianceDTO.getId());
+            names.add(NameKey.of(homeApplianceDTO.getName()));
+            if (homeApplianceDTO.getEnergyConsumption() != null)
+                consumptionDTOs.add(EnergyConsumptionDTO.toDTO(homeApplianceDTO.getEnergyConsumption()));
+        }
+        Map<String, HomeAppliance> registeredById = new HashMap<>();
+        Map<String, HomeAppliance> registeredByName = new HashMap<>();
+        if (!accepted.isEmpty()) {
+            homeApplianceRepository.findAllById(ids).forEach(appliance -> registeredById.put(appliance.getId(), appliance));
+            homeApplianceRepository.findByNameKeyIn(names)
+                    .forEach(appliance -> registeredByName.put(appliance.getNameKey(), appliance));
+        }
+        Map<String, EnergyConsumption> consumptions = energyConsumptionService.saveAll(consumptionDTOs);
+
+        Set<String> batchIds = new HashSet<>();
+        Set<String> batchNames = new HashSet<>();
+        List<HomeAppliance> newAppliances = new ArrayList<>();
+        Map<String, HomeAppliance> updatedAppliances = new HashMap<>();
+        for (Map.Entry<Integer, HomeApplianceDTO> entry : accepted.entrySet()) {
+            int index = entry.getKey();
+            HomeApplianceDTO homeApplianceDTO = entry.getValue();
+            String name = NameKey.of(homeApplianceDTO.getName());
+            HomeAppliance sameName = registeredByName.get(name);
+            if (!batchIds.add(homeApplianceDTO.getId())) {
+                results[index] = BatchItemResultDTO.rejected(offset + index, homeApplianceDTO,
+                        "The id " + homeApplianceDTO.getId() + " is repeated in the batch!");
+                continue;
+            }
+            if (!batchNames.add(name) || (sameName != null && !sameName.getId().equals(homeApplianceDTO.getId()))) {
+                results[index] = BatchItemResultDTO.rejected(offset + index, homeApplianceDTO,
+                        new ExistingResourceException(homeApplianceDTO.getName()).getMessage());
+                continue;
+            }
+            EnergyConsumption consumption = homeApplianceDTO.getEnergyConsumption() == null
+                    || homeApplianceDTO.getEnergyConsumption().getName() == null
+                    ? null
+                    : consumptions.get(NameKey.of(homeApplianceDTO.getEnergyConsumption().getName()));
+            homeApplianceDTO.setEnergyConsumption(consumption);
+            HomeAppliance registered = registeredById.get(homeApplianceDTO.getId());
+            if (registered != null) {
+                inventoryReservations.ifPresent(reservations -> reservations.release(registered.getId()));
+                updateFromDTO(registered, homeApplianceDTO);
+                updatedAppliances.put(registered.getId(), registered);
+                results[index] = BatchItemResultDTO.of(offset + index, homeApplianceDTO, BatchItemResultDTO.Status.UPDATED);
+            } else {
+                if (homeApplianceDTO.getPrice() == null) homeApplianceDTO.setPrice(0.0);
+                if (homeApplianceDTO.getInventory() == null) homeApplianceDTO.setInventory(0);
+                newAppliances.add(homeApplianceDTO.toHomeAppliance());
+                results[index] = BatchItemResultDTO.of(offset + index, homeApplianceDTO, BatchItemResultDTO.Status.CREATED);
+            }
+        }
+        homeApplianceRepository.flush();
+        homeApplianceRepository.persistAll(newAppliances);
+        syncViews(updatedAppliances, newAppliances);
+        homeApplianceJsonCache.invalidate(updatedAppliances.keySet());
+        return Arrays.asList(results);
+    }
+
+    private void syncViews(Map<String, HomeAppliance> updatedAppliances, List<HomeAppliance> newAppliances) {
+        List<HomeApplianceView> newViews = new ArrayList<>();
+        if (!updatedAppliances.isEmpty()) {
+            Map<String, HomeAppliance> missingViews = new HashMap<>(updatedAppliances);
+            homeApplianceViewRepository.findAllById(updatedAppliances.keySet()).forEach(view -> {
+                view.copyFrom(updatedAppliances.get(view.getId()));
+                missingViews.remove(view.getId());
+            });
+            missingViews.values().forEach(appliance -> newViews.add(HomeApplianceView.of(appliance)));
+            homeApplianceViewRepository.flush();
+        }
+        newAppliances.forEach(appliance -> newViews.add(HomeApplianceView.of(appliance)));
+        homeApplianceViewRepository.persistAll(newViews);
+    }
+
+    private String validate(HomeApplianceDTO homeApplianceDTO) {
+        if (homeApplianceDTO == null) return "The item must not be null!";
+        Set<ConstraintViolation<HomeApplianceDTO>> violations = validator.validate(homeApplianceDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(" "));
+        }
+        return homeApplianceDTO.checkEnums();
+    }
+
+    /**
+     * Keyset page in the given sort. The seek functions read up to the limit rows after the cursor, which is null on
+     * the first page; one row more than the page size is read to know whether a next cursor is needed.
+     */
+    private <T> CursorPageDTO<HomeApplianceDTO> seek(
+            String cursor, int size, String sort, boolean withTotal,
+            BiFunction<KeysetCursor, Integer, List<T>> seekByName,
+            BiFunction<KeysetCursor, Integer, List<T>> seekById,
+            Function<T, HomeApplianceDTO> mapper
+    ) {
+        KeysetCursor.checkSize(size);
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decode(cursor, sort);
+        List<T> rows;
+        switch (sort) {
+            case "name":
+                rows = seekByName.apply(after, size + 1);
+                break;
+            case "id":
+                rows = seekById.apply(after, size + 1);
+                break;
+            default:
+                throw new IncorrectValueException("Invalid sort: " + sort + "! Use 'name' or 'id'.");
+        }
+        List<HomeApplianceDTO> appliances = rows.stream().limit(size).map(mapper).collect(Collectors.toList());
+        String next = null;
+        if (rows.size() > size) {
+            HomeApplianceDTO last = appliances.get(size - 1);
+            next = new KeysetCursor(sort, sort.equals("name") ? last.getName() : last.getId(), last.getId()).encode();
+        }
+        return CursorPageDTO.<HomeApplianceDTO>builder()
+                .content(appliances)
+                .size(size)
+                .next(next)
+                .total(withTotal ? homeApplianceViewRepository.count() : null)
+                .build();
+    }
+
+    private void updateFromDTO(HomeAppliance appliance, HomeApplianceDTO homeApplianceDTO) {
+        appliance.setName(homeApplianceDTO.getName());
+        appliance.setDescription(homeApplianceDTO.getDescription());
+        appliance.setPrice(homeApplianceDTO.getPrice());
+        appliance.setInventory(homeApplianceDTO.getInventory());
+        appliance.setVoltage(Voltage.toEnum(homeApplianceDTO.getVoltage()));
+        appliance.setPortable(homeApplianceDTO.getPortable());
+        appliance.setClassification(Classification.toEnum(homeApplianceDTO.getClassification()));
+        appliance.setEnergyConsumption(homeApplianceDTO.getEnergyConsumption());
+    }
+
+    private HomeApplianceView detach(HomeApplianceView appliance) {
+        entityManager.detach(appliance);
+        return appliance;
+    }
+
+    private static HomeApplianceDTO toVersionDTO(HomeApplianceViewRepository.IdAndVersion version) {
+        return HomeApplianceDTO.builder().id(version.getId()).version(version.getVersion()).build();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
 
     @Override
-    public void delete(String id) {
-        findById(id);
-        homeApplianceRepository.deleteById(id);
+    public InventoryDTO addInventory(String id, int delta) {
+        if (inventoryReservations.isPresent()) return inventoryReservations.get().add(id, delta);
+        return transactionTemplate.execute(status -> addInventoryNow(id, delta));
     }
 
-    private void checkEnergyConsumption(HomeApplianceDTO applianceRegistered, HomeApplianceDTO homeApplianceDTO) {
-        try {
-            if (!homeApplianceDTO.getEnergyConsumption().getName().equals(applianceRegistered.getEnergyConsumption().getName()))
-                saveEnergyConsumption(homeApplianceDTO);
-        } catch (NullPointerException e) {
-            log.info("The energyConsumption's name attribute is null");
+    private InventoryDTO addInventoryNow(String id, int delta) {
+        if (homeApplianceRepository.addInventory(id, delta) == 0) {
+            if (!homeApplianceRepository.existsById(id)) throw new ResourceNotFoundException(id);
+            throw new InsufficientInventoryException(id, delta);
         }
+        homeApplianceViewRepository.addInventory(id, delta);
+        homeApplianceJsonCache.invalidate(id);
+        HomeApplianceViewRepository.InventoryLevel level = homeApplianceViewRepository.findInventoryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        return InventoryDTO.builder()
+                .id(id)
+                .delta(delta)
+                .inventory(level.getInventory())
+                .version(level.getVersion())
+                .build();
+    }
+
+    @Transactional
+    @Override
+    public void delete(String id) {
+        HomeAppliance appliance = homeApplianceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        homeApplianceRepository.delete(appliance);
+        homeApplianceViewRepository.removeById(id);
+        homeApplianceJsonCache.invalidate(id);
+    }
+
+    private void checkEnergyConsumption(HomeAppliance applianceRegistered, HomeApplianceDTO homeApplianceDTO) {
+        EnergyConsumption registered = applianceRegistered.getEnergyConsumption();
+        EnergyConsumption requested = homeApplianceDTO.getEnergyConsumption();
+        if (registered != null && requested != null && registered.getName().equals(requested.getName()))
+            homeApplianceDTO.setEnergyConsumption(registered);
+        else
+            saveEnergyConsumption(homeApplianceDTO);
     }
 
     private void saveEnergyConsumption(HomeApplianceDTO homeApplianceDTO) {
         EnergyConsumption consumption = homeApplianceDTO.getEnergyConsumption();
-        try {
-            EnergyConsumptionDTO consumptionDTO = EnergyConsumptionDTO.toDTO(consumption);
-            consumptionDTO = energyConsumptionService.save(consumptionDTO);
-            consumption = EnergyConsumption.builder()
-                    .name(consumptionDTO.getName())
-                    .power(consumptionDTO.getPower())
-                    .monthlyUsage(consumptionDTO.getMonthlyUsage())
-                    .dailyUse(consumptionDTO.getDailyUse())
-                    .monthlyConsumptionAverage(consumptionDTO.getMonthlyConsumptionAverage())
-                    .build();
-        } catch (NullPointerException e) {
+        if (consumption == null) {
             log.info("The EnergyConsumption object was null!");
-        } catch (ConverterNotFoundException e) {
-            log.info("Error when trying to convert energyConsumption to energyConsumptionDTO!");
+            return;
         }
-        homeApplianceDTO.setEnergyConsumption(consumption);
+        EnergyConsumptionDTO consumptionDTO = energyConsumptionService.save(EnergyConsumptionDTO.toDTO(consumption));
+        homeApplianceDTO.setEnergyConsumption(consumptionDTO.getName() == null ? null : EnergyConsumption.builder()
+                .name(consumptionDTO.getName())
+                .power(consumptionDTO.getPower())
+                .monthlyUsage(consumptionDTO.getMonthlyUsage())
+                .dailyUse(consumptionDTO.getDailyUse())
+                .monthlyConsumptionAverage(consumptionDTO.getMonthlyConsumptionAverage())
+                .build());
+    }
+
+    private RuntimeException existingResource(DataIntegrityViolationException e, HomeApplianceDTO homeApplianceDTO) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) return e;
+        ConstraintViolationException violation = (ConstraintViolationException) e.getCause();
+        if (!UNIQUE_VIOLATION.equals(violation.getSQLState())) return e;
+        String constraint = String.valueOf(violation.getConstraintName()).toLowerCase(Locale.ROOT);
+        boolean primaryKey = constraint.contains("primary") || constraint.contains("pkey");
+        return new ExistingResourceException(primaryKey ? homeApplianceDTO.getId() : homeApplianceDTO.getName());
     }
 
     private void checkApplianceNameValidity(HomeApplianceDTO homeApplianceDTO) {
@@ -130,46 +564,7 @@ public class HomeApplianceServiceImpl implements HomeApplianceService {
     public void setAttributeDefaultValue(HomeApplianceDTO homeApplianceDTO) {
         if (homeApplianceDTO.getPrice() == null) homeApplianceDTO.setPrice(0.0);
         if (homeApplianceDTO.getInventory() == null) homeApplianceDTO.setInventory(0);
-        if (homeApplianceDTO.getId() == null) {
-            homeApplianceDTO.setId(UUID.randomUUID().toString());
-        } else {
-            try {
-                if(checkUUID(homeApplianceDTO.getId())) {
-                    findById(homeApplianceDTO.getId());
-                    throw new ExistingResourceException(homeApplianceDTO.getId());
-                } else {
-                    homeApplianceDTO.setId(UUID.randomUUID().toString());
-                }
-            } catch (ResourceNotFoundException e) {
-                log.info("The id was not null and it's still not registered in the database. " + e.getClass());
-            }
-        }
-    }
-    
-    private Boolean checkUUID(String uuid){
-        if (uuid.length() == 36) {
-            String[] hexadecimalArray = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "a", "b", "c", "d", "e", "f"};
-            String[] alphaNumericArray = {"8", "9", "a", "b"};
-            String x = uuid.substring(14, 15);
-            String y = uuid.substring(19, 20);
-            if (Arrays.stream(hexadecimalArray).anyMatch(element -> element.equals(x)) &&
-                    Arrays.stream(alphaNumericArray).anyMatch(element -> element.equals(y))) return true;
-        }
-        return false;
-    }
-
-    private HomeAppliance fromHomeApplianceDTO(HomeApplianceDTO homeApplianceDTO) {
-        HomeAppliance homeAppliance = HomeAppliance.builder()
-                .id(homeApplianceDTO.getId())
-                .name(homeApplianceDTO.getName())
-                .description(homeApplianceDTO.getDescription())
-                .price(homeApplianceDTO.getPrice())
-                .inventory(homeApplianceDTO.getInventory())
-                .voltage(homeApplianceDTO.getVoltage())
-                .portable(homeApplianceDTO.getPortable())
-                .classification(homeApplianceDTO.getClassification())
-                .energyConsumption(homeApplianceDTO.getEnergyConsumption())
-                .build();
-        return homeAppliance;
+        if (homeApplianceDTO.getId() == null || !IdGenerator.isCanonical(homeApplianceDTO.getId()))
+            homeApplianceDTO.setId(idGenerator.newId());
     }
 }
@@ -0,0 +1,291 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.dto.InventoryDTO;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind inventory for hot appliances. Each appliance gets an escrow of units split in striped counters:
+ * decrements are taken from the escrow without touching the database, and when it runs out a lease of units is
+ * moved out of the stored inventory with one conditional update, so the stored inventory never goes negative.
+ * Increments are added to the escrow. A periodic flush writes back, in one batch, the units held above twice the
+ * lease size and the whole escrow of appliances left idle. A crash loses at most the escrow, so stock can be
+ * under-reported for a while but never oversold. While an appliance is hot, its stored inventory excludes the escrow,
+ * so a write that sets the inventory outright must {@link #release(String)} the appliance first.
+ */
+@Component
+@Log4j2
+@ConditionalOnProperty(value = "appliances.inventory.write-behind.enabled", havingValue = "true")
+public class InventoryReservations {
+
+    private static final int PADDING = 8;
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private static final int RESERVE_ATTEMPTS = 3;
+
+    private final HomeApplianceRepository homeApplianceRepository;
+
+    private final HomeApplianceViewRepository homeApplianceViewRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HomeApplianceJsonCache homeApplianceJsonCache;
+
+    private final int stripes;
+
+    private final int leaseSize;
+
+    private final long idleFlushes;
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> unflushed = new HashMap<>();
+
+    private final ScheduledExecutorService flusher;
+
+    private volatile boolean closed;
+
+    public InventoryReservations(
+            HomeApplianceRepository homeApplianceRepository,
+            HomeApplianceViewRepository homeApplianceViewRepository,
+            TransactionTemplate transactionTemplate,
+            HomeApplianceJsonCache homeApplianceJsonCache,
+            @Value("${appliances.inventory.write-behind.stripes:0}") int stripes,
+            @Value("${appliances.inventory.write-behind.lease-size:100}") int leaseSize,
+            @Value("${appliances.inventory.write-behind.flush-interval:200ms}") Duration flushInterval,
+            @Value("${appliances.inventory.write-behind.idle-timeout:5s}") Duration idleTimeout
+    ) {
+        this.homeApplianceRepository = homeApplianceRepository;
+        this.homeApplianceViewRepository = homeApplianceViewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.homeApplianceJsonCache = homeApplianceJsonCache;
+        int requested = stripes > 0 ? stripes : 2 * Runtime.getRuntime().availableProcessors();
+        this.stripes = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.idleFlushes = Math.max(1, (idleTimeout.toMillis() + flushInterval.toMillis() - 1) / flushInterval.toMillis());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public InventoryDTO add(String id, int delta) {
+        int stripe = (int) Thread.currentThread().getId() & (stripes - 1);
+        while (true) {
+            Counter counter = counterOf(id);
+            boolean applied = delta >= 0
+                    ? counter.give(stripe, delta)
+                    : counter.take(stripe, -(long) delta) || counter.lease(stripe, -(long) delta, delta);
+            if (applied) {
+                counter.operations.increment();
+                return InventoryDTO.builder().id(id).delta(delta).build();
+            }
+        }
+    }
+
+    public long held(String id) {
+        Counter counter = counters.get(id);
+        return counter == null ? 0 : counter.total();
+    }
+
+    /**
+     * Retires the appliance's counter and drops its escrow, so a later flush does not add it on top of an inventory
+     * being set outright. Within a transaction the escrow is handed back to the next flush if it rolls back.
+     */
+    public synchronized void release(String id) {
+        Counter counter = counters.get(id);
+        Long pending = unflushed.remove(id);
+        long dropped = (counter == null ? 0 : counter.retire()) + (pending == null ? 0 : pending);
+        if (dropped == 0 || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) return;
+                synchronized (InventoryReservations.this) {
+                    unflushed.merge(id, dropped, Long::sum);
+                }
+            }
+        });
+    }
+
+    public synchronized void flush() {
+        Map<String, Long> released = new HashMap<>(unflushed);
+        for (Counter counter : counters.values()) {
+            long units = counter.release();
+            if (units > 0) released.merge(counter.id, units, Long::sum);
+        }
+        if (released.isEmpty()) return;
+        Map<String, Integer> deltas = new HashMap<>();
+        released.forEach((id, units) -> deltas.put(id, (int) Math.min(Integer.MAX_VALUE, units)));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                homeApplianceRepository.addInventories(deltas);
+                homeApplianceJsonCache.invalidate(deltas.keySet());
+            });
+            unflushed.clear();
+        } catch (RuntimeException e) {
+            unflushed.putAll(released);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        closed = true;
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("The inventory flush failed, it will be retried! " + e.getMessage());
+        }
+    }
+
+    private Counter counterOf(String id) {
+        Counter counter = counters.get(id);
+        if (counter != null) return counter;
+        if (!homeApplianceRepository.existsById(id)) throw new ResourceNotFoundException(id);
+        return counters.computeIfAbsent(id, Counter::new);
+    }
+
+    private long reserve(String id, long units) {
+        int lease = (int) Math.min(Integer.MAX_VALUE, units);
+        Integer rows = transactionTemplate.execute(status -> {
+            if (homeApplianceRepository.addInventory(id, -lease) == 0) return 0;
+            homeApplianceViewRepository.addInventory(id, -lease);
+            homeApplianceJsonCache.invalidate(id);
+            return 1;
+        });
+        return rows != null && rows == 1 ? lease : 0;
+    }
+
+    private final class Counter {
+
+        private final String id;
+
+        private final AtomicLongArray cells = new AtomicLongArray(stripes * PADDING);
+
+        private final LongAdder operations = new LongAdder();
+
+        private long lastOperations;
+
+        private long idle;
+
+        private boolean retired;
+
+        private Counter(String id) {
+            this.id = id;
+        }
+
+        private boolean give(int stripe, long units) {
+            int cell = stripe * PADDING;
+            long held;
+            do {
+                held = cells.get(cell);
+                if (held == RETIRED) return false;
+            } while (!cells.compareAndSet(cell, held, held + units));
+            return true;
+        }
+
+        private boolean take(int stripe, long units) {
+            for (int i = 0; i < stripes; i++) {
+                int cell = ((stripe + i) & (stripes - 1)) * PADDING;
+                long held;
+                while ((held = cells.get(cell)) >= units)
+                    if (cells.compareAndSet(cell, held, held - units)) return true;
+            }
+            return false;
+        }
+
+        private synchronized boolean lease(int stripe, long units, int delta) {
+            if (retired) return false;
+            long held = drain(0);
+            long missing = units - held;
+            try {
+                for (int attempt = 0; missing > 0 && attempt < RESERVE_ATTEMPTS; attempt++) {
+                    long leased = reserve(id, Math.max(missing, leaseSize));
+                    if (leased == 0) {
+                        Integer stored = homeApplianceViewRepository.findInventoryById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException(id))
+                                .getInventory();
+                        if (stored == null || stored < missing) break;
+                        leased = reserve(id, stored);
+                    }
+                    held += leased;
+                    missing -= leased;
+                }
+                if (missing > 0) throw new InsufficientInventoryException(id, delta);
+                held -= units;
+                return true;
+            } finally {
+                give(stripe, held);
+            }
+        }
+
+        private synchronized long release() {
+            long current = operations.sum();
+            idle = current == lastOperations ? idle + 1 : 0;
+            lastOperations = current;
+            if (idle >= idleFlushes || closed) return retire();
+            long excess = total() - leaseSize;
+            if (excess <= leaseSize) return 0;
+            long released = 0;
+            for (int i = 0; i < stripes && released < excess; i++) {
+                int cell = i * PADDING;
+                long held;
+                long units;
+                do {
+                    held = cells.get(cell);
+                    units = Math.min(held, excess - released);
+                } while (units > 0 && !cells.compareAndSet(cell, held, held - units));
+                if (units > 0) released += units;
+            }
+            return released;
+        }
+
+        private synchronized long retire() {
+            counters.remove(id, this);
+            retired = true;
+            return drain(RETIRED);
+        }
+
+        private long drain(long replacement) {
+            long held = 0;
+            for (int i = 0; i < stripes; i++) held += cells.getAndSet(i * PADDING, replacement);
+            return held;
+        }
+
+        private long total() {
+            long held = 0;
+            for (int i = 0; i < stripes; i++) held += Math.max(0, cells.get(i * PADDING));
+            return held;
+        }
+    }
+}
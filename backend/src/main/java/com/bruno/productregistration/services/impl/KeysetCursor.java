@@ -0,0 +1,48 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import lombok.Value;
+
+import java.io.*;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a keyset listing: the sort field and the (sort key, id) of the last row returned.
+ */
+@Value
+class KeysetCursor {
+
+    static final int MAX_SIZE = 1000;
+
+    String sort;
+    String key;
+    String id;
+
+    static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE)
+            throw new IncorrectValueException("The size must be between 1 and " + MAX_SIZE + "!");
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(sort);
+            output.writeUTF(key);
+            output.writeUTF(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static KeysetCursor decode(String token, String sort) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            KeysetCursor cursor = new KeysetCursor(input.readUTF(), input.readUTF(), input.readUTF());
+            if (!cursor.getSort().equals(sort))
+                throw new IncorrectValueException("The cursor was created for the sort '" + cursor.getSort() + "'!");
+            return cursor;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IncorrectValueException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.services.IdGenerator;
+
+import java.util.UUID;
+
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
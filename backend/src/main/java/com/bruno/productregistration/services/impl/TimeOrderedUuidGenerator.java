@@ -0,0 +1,40 @@
+package com.bruno.productregistration.services.impl;
+
+import com.bruno.productregistration.services.IdGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDv7 layout: a 48 bit millisecond timestamp, the version, a 12 bit counter that keeps ids generated
+ * in the same millisecond ordered, the variant and 62 random bits. New ids land at the right edge of the
+ * primary key index instead of on a random page.
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis;
+
+    private int sequence;
+
+    @Override
+    public String newId() {
+        long msb;
+        synchronized (this) {
+            long millis = System.currentTimeMillis();
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                sequence = random.nextInt(MAX_SEQUENCE / 2);
+            } else if (++sequence > MAX_SEQUENCE) {
+                lastMillis++;
+                sequence = 0;
+            }
+            msb = lastMillis << 16 | 0x7000 | sequence;
+        }
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+}
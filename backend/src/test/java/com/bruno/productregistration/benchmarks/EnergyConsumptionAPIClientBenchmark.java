@@ -0,0 +1,100 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.config.FeignClientConfig;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.utils.EnergyConsumptionAPIStub;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares the throughput of the outbound HTTP clients against a local stub of the energy consumption API.
+ * Run it with: ./gradlew benchmark --tests '*EnergyConsumptionAPIClientBenchmark'
+ */
+@Tag("benchmark")
+public class EnergyConsumptionAPIClientBenchmark {
+
+    private static final int THREADS = 16;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareOutboundClients() throws Exception {
+        FeignClientConfig feignClientConfig = new FeignClientConfig();
+        CloseableHttpClient pooledHttpClient = feignClientConfig.feignHttpClient(
+                200, 50, Duration.ofSeconds(30), Duration.ofSeconds(60), 1000);
+        Map<String, Client> clients = new LinkedHashMap<>();
+        clients.put("HttpURLConnection (Feign default)", new Client.Default(null, null));
+        clients.put("Pooled Apache HttpClient", feignClientConfig.feignClient(pooledHttpClient));
+        clients.put("JDK HttpClient (HTTP/2 enabled)", feignClientConfig.http2FeignClient(1000));
+        try (EnergyConsumptionAPIStub stub = EnergyConsumptionAPIStub.start()) {
+            stub.register(EnergyConsumption.builder().name("Vacuum").power(500).build());
+            Request request = Request.create(Request.HttpMethod.GET, stub.getUrl() + "/name?name=Vacuum",
+                    Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+            for (Map.Entry<String, Client> client : clients.entrySet()) {
+                run(client.getValue(), request, WARMUP);
+                long calls = run(client.getValue(), request, MEASUREMENT);
+                System.out.printf("%-36s %,12.0f calls/s (%d threads)%n",
+                        client.getKey(), calls / (double) MEASUREMENT.toSeconds(), THREADS);
+                assertThat(calls, is(greaterThan(0L)));
+            }
+        } finally {
+            pooledHttpClient.close();
+        }
+    }
+
+    private long run(Client client, Request request, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicLong calls = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try (Response response = client.execute(request, OPTIONS);
+                         InputStream body = response.body().asInputStream()) {
+                        body.readAllBytes();
+                        if (response.status() == 200) calls.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) worker.get();
+        executor.shutdown();
+        return calls.get();
+    }
+}
@@ -0,0 +1,151 @@
+package com.bruno.productregistration.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares concurrent stock changes on a single hot appliance made with the atomic inventory delta against a
+ * read-modify-write of the whole appliance guarded by its version, which has to retry every lost race.
+ * Run it with: ./gradlew benchmark --tests '*HomeApplianceInventoryBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.engine.jdbc.batch.internal.BatchingBatch=off"
+})
+public class HomeApplianceInventoryBenchmark {
+
+    private static final int THREADS = 16;
+
+    private static final int INITIAL_INVENTORY = 1_000_000;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareInventoryUpdates() throws Exception {
+        String deltaId = create("atomic delta");
+        String readModifyWriteId = create("read-modify-write");
+        AtomicLong retries = new AtomicLong();
+        try {
+            Result delta = measure("atomic delta", retries,
+                    change -> homeApplianceService.addInventory(deltaId, change));
+            Result readModifyWrite = measure("read-modify-write", retries,
+                    change -> readModifyWrite(readModifyWriteId, change, retries));
+            assertThat(homeApplianceService.findById(deltaId).getInventory(),
+                    is(equalTo(INITIAL_INVENTORY + (int) delta.net)));
+            assertThat(homeApplianceService.findById(readModifyWriteId).getInventory(),
+                    is(equalTo(INITIAL_INVENTORY + (int) readModifyWrite.net)));
+            assertThat(delta.throughput, is(greaterThan(readModifyWrite.throughput)));
+        } finally {
+            homeApplianceService.delete(deltaId);
+            homeApplianceService.delete(readModifyWriteId);
+        }
+    }
+
+    private void readModifyWrite(String id, int delta, AtomicLong retries) {
+        while (true) {
+            HomeApplianceDTO current = homeApplianceService.findById(id);
+            current.setInventory(current.getInventory() + delta);
+            try {
+                homeApplianceService.update(id, current, current.getVersion());
+                return;
+            } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                retries.incrementAndGet();
+            }
+        }
+    }
+
+    private Result measure(String label, AtomicLong retries, IntConsumer change) throws Exception {
+        Result warmup = run(WARMUP, change);
+        retries.set(0);
+        Result result = run(MEASUREMENT, change);
+        System.out.printf("%-20s %10.1f updates/s %10d retries%n", label, result.throughput, retries.get());
+        return new Result(result.throughput, warmup.net + result.net);
+    }
+
+    private Result run(Duration duration, IntConsumer change) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int delta = i % 2 == 0 ? 1 : -1;
+                futures.add(executor.submit(() -> {
+                    long operations = 0;
+                    while (System.nanoTime() < deadline) {
+                        change.accept(delta);
+                        operations++;
+                    }
+                    return new long[]{operations, operations * delta};
+                }));
+            }
+            long operations = 0;
+            long net = 0;
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                operations += counts[0];
+                net += counts[1];
+            }
+            return new Result(operations / (duration.toNanos() / 1e9), net);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String create(String label) {
+        return homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Benchmark hot appliance " + label)
+                .price(10.0)
+                .inventory(INITIAL_INVENTORY)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build()).getId();
+    }
+
+    private static class Result {
+
+        private final double throughput;
+
+        private final long net;
+
+        private Result(double throughput, long net) {
+            this.throughput = throughput;
+            this.net = net;
+        }
+    }
+}
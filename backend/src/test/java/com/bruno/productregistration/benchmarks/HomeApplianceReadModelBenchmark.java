@@ -0,0 +1,110 @@
+package com.bruno.productregistration.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.bruno.productregistration.services.HomeApplianceService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares read latency of the joined inheritance tables against the flattened read model.
+ * Run it with: ./gradlew benchmark --tests '*HomeApplianceReadModelBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class HomeApplianceReadModelBenchmark {
+
+    private static final int APPLIANCES = 5000;
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int WARMUP = 2000;
+
+    private static final int ITERATIONS = 10000;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareReadPaths() {
+        List<HomeApplianceDTO> batch = new ArrayList<>();
+        for (int i = 0; i < APPLIANCES; i++) {
+            batch.add(HomeApplianceDTO.builder()
+                    .name("Benchmark appliance " + i)
+                    .price(10.0)
+                    .inventory(i)
+                    .voltage(i % 3)
+                    .portable(i % 2 == 0)
+                    .classification(i % 5)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                    .build());
+        }
+        List<String> ids = homeApplianceService.saveAll(batch).stream()
+                .map(BatchItemResultDTO::getId)
+                .collect(Collectors.toList());
+        int pages = APPLIANCES / PAGE_SIZE;
+
+        measure("findById, joined tables", index -> transactionTemplate.executeWithoutResult(status ->
+                HomeApplianceDTO.toDTO(homeApplianceRepository.findById(randomId(ids)).orElseThrow())));
+        measure("findById, read model", index -> transactionTemplate.executeWithoutResult(status ->
+                HomeApplianceDTO.toDTO(homeApplianceViewRepository.findById(randomId(ids)).orElseThrow())));
+        measure("page of " + PAGE_SIZE + ", joined tables", index -> transactionTemplate.executeWithoutResult(status ->
+                homeApplianceRepository.findAll(PageRequest.of(index % pages, PAGE_SIZE)).map(HomeApplianceDTO::toDTO)));
+        measure("page of " + PAGE_SIZE + ", read model", index -> transactionTemplate.executeWithoutResult(status ->
+                homeApplianceViewRepository.findAll(PageRequest.of(index % pages, PAGE_SIZE)).map(HomeApplianceDTO::toDTO)));
+
+        assertThat(homeApplianceViewRepository.count(), is(equalTo(homeApplianceRepository.count())));
+    }
+
+    private static String randomId(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static void measure(String name, IntConsumer operation) {
+        for (int i = 0; i < WARMUP; i++) operation.accept(i);
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-28s p50 %,8.1f us   p99 %,8.1f us%n", name,
+                latencies[ITERATIONS / 2] / 1000.0, latencies[ITERATIONS * 99 / 100] / 1000.0);
+    }
+}
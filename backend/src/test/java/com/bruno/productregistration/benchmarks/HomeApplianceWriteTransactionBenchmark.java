@@ -0,0 +1,152 @@
+package com.bruno.productregistration.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.bruno.productregistration.services.HomeApplianceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares pool checkouts and commits per write request when every repository call runs in its own
+ * transaction (the flow the service used before) against the single transaction of the service methods.
+ * Run it with: ./gradlew benchmark --tests '*HomeApplianceWriteTransactionBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class HomeApplianceWriteTransactionBenchmark {
+
+    private static final int WARMUP = 500;
+
+    private static final int REQUESTS = 2000;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareWritePaths() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            Result stepUpdate = run("update, one transaction per step", statistics, this::updateStepByStep);
+            Result update = run("update, one transaction", statistics,
+                    dto -> homeApplianceService.update(dto.getId(), dto));
+            Result stepDelete = run("delete, one transaction per step", statistics, this::deleteStepByStep);
+            Result delete = run("delete, one transaction", statistics, dto -> homeApplianceService.delete(dto.getId()));
+            assertThat(update.acquisitions, is(lessThan(stepUpdate.acquisitions)));
+            assertThat(update.commits, is(lessThan(stepUpdate.commits)));
+            assertThat(delete.acquisitions, is(lessThan(stepDelete.acquisitions)));
+            assertThat(delete.commits, is(lessThan(stepDelete.commits)));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private void updateStepByStep(HomeApplianceDTO dto) {
+        homeApplianceViewRepository.findById(dto.getId()).orElseThrow();
+        HomeAppliance appliance = homeApplianceRepository.save(HomeAppliance.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .price(dto.getPrice())
+                .inventory(dto.getInventory())
+                .voltage(dto.getVoltage())
+                .portable(dto.getPortable())
+                .classification(dto.getClassification())
+                .energyConsumption(dto.getEnergyConsumption())
+                .build());
+        homeApplianceViewRepository.save(HomeApplianceView.of(appliance));
+    }
+
+    private void deleteStepByStep(HomeApplianceDTO dto) {
+        homeApplianceViewRepository.findById(dto.getId()).orElseThrow();
+        homeApplianceRepository.deleteById(dto.getId());
+        homeApplianceViewRepository.removeById(dto.getId());
+    }
+
+    private Result run(String label, Statistics statistics, Consumer<HomeApplianceDTO> request) {
+        List<HomeApplianceDTO> appliances = create(label, WARMUP + REQUESTS);
+        appliances.subList(0, WARMUP).forEach(request);
+        long acquisitions = acquisitions();
+        statistics.clear();
+        long start = System.nanoTime();
+        appliances.subList(WARMUP, appliances.size()).forEach(request);
+        long elapsed = System.nanoTime() - start;
+        Result result = new Result((acquisitions() - acquisitions) / (double) REQUESTS,
+                statistics.getTransactionCount() / (double) REQUESTS);
+        System.out.printf("%-36s %6.2f checkouts/request %6.2f commits/request %8.1f us/request%n",
+                label, result.acquisitions, result.commits, elapsed / 1000.0 / REQUESTS);
+        return result;
+    }
+
+    private List<HomeApplianceDTO> create(String label, int count) {
+        List<HomeApplianceDTO> appliances = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HomeApplianceDTO appliance = homeApplianceService.save(HomeApplianceDTO.builder()
+                    .name("Benchmark " + label + " " + i)
+                    .price(10.0)
+                    .inventory(i)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                    .build());
+            appliance.setPrice(20.0);
+            appliances.add(appliance);
+        }
+        return appliances;
+    }
+
+    private long acquisitions() {
+        return meterRegistry.get("hikaricp.connections.acquire").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static class Result {
+
+        private final double acquisitions;
+
+        private final double commits;
+
+        private Result(double acquisitions, double commits) {
+            this.acquisitions = acquisitions;
+            this.commits = commits;
+        }
+    }
+}
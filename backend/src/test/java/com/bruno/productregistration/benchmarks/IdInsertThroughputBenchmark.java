@@ -0,0 +1,93 @@
+package com.bruno.productregistration.benchmarks;
+
+import com.bruno.productregistration.services.IdGenerator;
+import com.bruno.productregistration.services.impl.RandomUuidGenerator;
+import com.bruno.productregistration.services.impl.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Measures insert throughput into a growing, file backed table for each id strategy and storage.
+ * Every segment adds SEGMENT_ROWS rows in batches of BATCH_SIZE; throughput is reported per segment so
+ * the effect of a deeper primary key index shows up.
+ * Run it with: ./gradlew benchmark --tests '*IdInsertThroughputBenchmark'
+ */
+@Tag("benchmark")
+public class IdInsertThroughputBenchmark {
+
+    private static final int SEGMENTS = 5;
+
+    private static final int SEGMENT_ROWS = 100_000;
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Test
+    void compareIdStrategies() throws Exception {
+        Path directory = Files.createTempDirectory("id-benchmark");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("ids") + ";MODE=PostgreSQL", "sa", "")) {
+            connection.setAutoCommit(false);
+            double random = run(connection, "random UUID, text", new RandomUuidGenerator(), false);
+            double timeOrdered = run(connection, "time-ordered UUID, text", new TimeOrderedUuidGenerator(), false);
+            run(connection, "random UUID, binary", new RandomUuidGenerator(), true);
+            run(connection, "time-ordered UUID, binary", new TimeOrderedUuidGenerator(), true);
+            assertThat(timeOrdered, is(greaterThan(random)));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private double run(Connection connection, String label, IdGenerator generator, boolean binary) throws Exception {
+        String table = "bench_" + label.replaceAll("[^a-z]+", "_");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id " + (binary ? "BINARY(16)" : "VARCHAR(255)")
+                    + " PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+        }
+        connection.commit();
+        double lastSegment = 0;
+        StringBuilder segments = new StringBuilder();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, name) VALUES (?, ?)")) {
+            for (int segment = 0; segment < SEGMENTS; segment++) {
+                long start = System.nanoTime();
+                for (int row = 0; row < SEGMENT_ROWS; row++) {
+                    String id = generator.newId();
+                    if (binary) insert.setBytes(1, toBytes(id));
+                    else insert.setString(1, id);
+                    insert.setString(2, "Benchmark appliance " + segment + "-" + row);
+                    insert.addBatch();
+                    if ((row + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                lastSegment = SEGMENT_ROWS / ((System.nanoTime() - start) / 1e9);
+                segments.append(String.format(" %,9.0f", lastSegment));
+            }
+        }
+        System.out.printf("%-28s rows/s per %,d row segment:%s%n", label, SEGMENT_ROWS, segments);
+        return lastSegment;
+    }
+
+    private static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,148 @@
+package com.bruno.productregistration.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.impl.InventoryReservations;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Compares 64 writers selling a handful of hot appliances through direct conditional updates of the stored
+ * inventory (the path used when write-behind is disabled) against the striped write-behind reservations.
+ * Run it with: ./gradlew benchmark --tests '*InventoryWriteBehindBenchmark'
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "appliances.inventory.write-behind.enabled=true"
+})
+public class InventoryWriteBehindBenchmark {
+
+    private static final int WRITERS = 64;
+
+    private static final int HOT_APPLIANCES = 4;
+
+    private static final int INITIAL_INVENTORY = 10_000_000;
+
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private InventoryReservations inventoryReservations;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @Test
+    void compareInventoryWrites() throws Exception {
+        List<String> direct = create("direct");
+        List<String> writeBehind = create("write-behind");
+        try {
+            double directThroughput = measure("direct update", direct, this::addDirectly);
+            double writeBehindThroughput = measure("write-behind", writeBehind, inventoryReservations::add);
+            inventoryReservations.close();
+            for (String id : writeBehind) {
+                assertThat(inventoryReservations.held(id), is(equalTo(0L)));
+                assertThat(homeApplianceService.findById(id).getInventory(), is(lessThan(INITIAL_INVENTORY)));
+            }
+            assertThat(writeBehindThroughput, is(greaterThan(directThroughput)));
+        } finally {
+            direct.forEach(homeApplianceService::delete);
+            writeBehind.forEach(homeApplianceService::delete);
+        }
+    }
+
+    private void addDirectly(String id, int delta) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (homeApplianceRepository.addInventory(id, delta) == 1) homeApplianceViewRepository.addInventory(id, delta);
+        });
+    }
+
+    private double measure(String label, List<String> ids, BiConsumer<String, Integer> sale) throws Exception {
+        run(WARMUP, ids, sale);
+        Histogram latencies = run(MEASUREMENT, ids, sale);
+        double throughput = latencies.getTotalCount() / (MEASUREMENT.toNanos() / 1e9);
+        System.out.printf("%-16s %10.1f sales/s p50 %8.1f us p99 %8.1f us p99.9 %8.1f us%n", label, throughput,
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0);
+        return throughput;
+    }
+
+    private Histogram run(Duration duration, List<String> ids, BiConsumer<String, Integer> sale) throws Exception {
+        Recorder recorder = new Recorder(3);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                String id = ids.get(i % ids.size());
+                futures.add(executor.submit(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < deadline) {
+                        sale.accept(id, -1);
+                        recorder.recordValue(System.nanoTime() - start);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+            return recorder.getIntervalHistogram();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> create(String label) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < HOT_APPLIANCES; i++) {
+            ids.add(homeApplianceService.save(HomeApplianceDTO.builder()
+                    .name("Benchmark hot appliance " + label + " " + i)
+                    .price(10.0)
+                    .inventory(INITIAL_INVENTORY)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                    .build()).getId());
+        }
+        return ids;
+    }
+}
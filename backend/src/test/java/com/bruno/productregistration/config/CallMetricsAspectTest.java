@@ -0,0 +1,129 @@
+package com.bruno.productregistration.config;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.EnergyConsumptionService;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.utils.EnergyConsumptionAPIStub;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class CallMetricsAspectTest {
+
+    private static final String APPLIANCE_ID = "eba9031b-b87d-4b91-9afd-9a1e0387a9bf";
+
+    private static final EnergyConsumptionAPIStub stub = EnergyConsumptionAPIStub.start();
+
+    @DynamicPropertySource
+    static void energyConsumptionAPIProperties(DynamicPropertyRegistry registry) {
+        registry.add("energy-consumption-api.url", stub::getUrl);
+    }
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("(1) When a service method is called, then it and the repository calls it makes are timed")
+    void whenAServiceMethodIsCalledThenItAndItsRepositoryCallsAreTimed() {
+        long services = count(CallMetricsAspect.SERVICE, "HomeApplianceServiceImpl", "findById", "SUCCESS");
+        long repositories = count(CallMetricsAspect.REPOSITORY, "HomeApplianceViewRepository", "findById", "SUCCESS");
+        homeApplianceService.findById(APPLIANCE_ID);
+        Gauge active = meterRegistry.find(CallMetricsAspect.ACTIVE)
+                .tags("layer", CallMetricsAspect.SERVICE, "component", "HomeApplianceServiceImpl", "method", "findById")
+                .gauge();
+        assertAll(
+                () -> assertThat(count(CallMetricsAspect.SERVICE, "HomeApplianceServiceImpl", "findById", "SUCCESS"), is(equalTo(services + 1))),
+                () -> assertThat(count(CallMetricsAspect.REPOSITORY, "HomeApplianceViewRepository", "findById", "SUCCESS"), is(equalTo(repositories + 1))),
+                () -> assertThat(active, is(notNullValue())),
+                () -> assertThat(active.value(), is(equalTo(0.0)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a service method throws, then the call is timed as an error and counted")
+    void whenAServiceMethodThrowsThenTheCallIsTimedAsAnErrorAndCounted() {
+        assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.findById("missing"));
+        Counter errors = meterRegistry.find(CallMetricsAspect.ERRORS)
+                .tags("layer", CallMetricsAspect.SERVICE, "method", "findById", "exception", "ResourceNotFoundException")
+                .counter();
+        Timer timer = meterRegistry.find(CallMetricsAspect.CALLS)
+                .tags("layer", CallMetricsAspect.SERVICE, "method", "findById", "outcome", "ERROR")
+                .timer();
+        assertAll(
+                () -> assertThat(errors.count(), is(greaterThanOrEqualTo(1.0))),
+                () -> assertThat(timer.count(), is(greaterThanOrEqualTo(1L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When the remote API is called, then the client call is tagged by its outcome")
+    void whenTheRemoteAPIIsCalledThenTheClientCallIsTaggedByItsOutcome() {
+        stub.register(EnergyConsumption.builder().name("Metrics toaster").power(800).build());
+        energyConsumptionService.findByNameIgnoreCase(localDTO("Metrics toaster"));
+        energyConsumptionService.findByNameIgnoreCase(localDTO("Metrics kettle"));
+        assertAll(
+                () -> assertThat(count(CallMetricsAspect.CLIENT, "EnergyConsumptionAPIService", "getConsumption", "SUCCESS"), is(greaterThanOrEqualTo(1L))),
+                () -> assertThat(count(CallMetricsAspect.CLIENT, "EnergyConsumptionAPIService", "getConsumption", "CLIENT_ERROR"), is(greaterThanOrEqualTo(1L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(4) When the Prometheus endpoint is scraped, then the call histograms and pool metrics are exposed")
+    void whenThePrometheusEndpointIsScrapedThenTheHistogramsAreExposed() throws Exception {
+        homeApplianceService.findById(APPLIANCE_ID);
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("appliances_calls_seconds_bucket{")))
+                .andExpect(content().string(containsString("appliances_calls_active{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")));
+    }
+
+    private long count(String layer, String component, String method, String outcome) {
+        Timer timer = meterRegistry.find(CallMetricsAspect.CALLS)
+                .tags("layer", layer, "component", component, "method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static EnergyConsumptionDTO localDTO(String name) {
+        return EnergyConsumptionDTO.toDTO(EnergyConsumption.builder().name(name).power(10).build());
+    }
+}
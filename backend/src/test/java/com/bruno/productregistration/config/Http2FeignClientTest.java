@@ -0,0 +1,60 @@
+package com.bruno.productregistration.config;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.utils.EnergyConsumptionAPIStub;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Http2FeignClientTest {
+
+    private static final EnergyConsumptionAPIStub stub = EnergyConsumptionAPIStub.start();
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true);
+
+    private final Client client = new FeignClientConfig().http2FeignClient(1000);
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("(1) When the remote API answers, then return its status, headers and body")
+    void whenTheRemoteAPIAnswersThenReturnItsResponse() throws IOException {
+        stub.register(EnergyConsumption.builder().name("Vacuum").power(500).build());
+        try (Response response = client.execute(get("Vacuum"), OPTIONS)) {
+            assertAll(
+                    () -> assertThat(response.status(), is(equalTo(200))),
+                    () -> assertThat(response.headers().get("content-type"), hasItem("application/json")),
+                    () -> assertThat(Util.toString(response.body().asReader(StandardCharsets.UTF_8)), containsString("\"power\":500"))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("(2) When the remote API doesn't know the name, then return a 404 response")
+    void whenTheRemoteAPIDoesNotKnowTheNameThenReturnNotFound() throws IOException {
+        try (Response response = client.execute(get("Unknown"), OPTIONS)) {
+            assertThat(response.status(), is(equalTo(404)));
+        }
+    }
+
+    private static Request get(String name) {
+        return Request.create(Request.HttpMethod.GET, stub.getUrl() + "/name?name=" + name,
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+    }
+}
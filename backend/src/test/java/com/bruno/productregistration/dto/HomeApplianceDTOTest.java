@@ -0,0 +1,52 @@
+package com.bruno.productregistration.dto;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.enums.Classification;
+import com.bruno.productregistration.entities.enums.Voltage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class HomeApplianceDTOTest {
+
+    private final HomeApplianceDTO homeApplianceDTO = HomeApplianceDTO.builder()
+            .id("eba9031b-b87d-4b91-9afd-9a1e0387a9bf")
+            .name("Enceradeira")
+            .description("Enceradeira para piso")
+            .price(350.0)
+            .inventory(12)
+            .voltage(1)
+            .portable(true)
+            .classification(2)
+            .energyConsumption(EnergyConsumption.builder().name("Enceradeira").power(180).build())
+            .build();
+
+    @Test
+    @DisplayName("(1) When a DTO is mapped to an appliance, then every field is carried over and the codes become enums")
+    void whenADTOIsMappedToAnApplianceThenEveryFieldIsCarriedOver() {
+        HomeAppliance appliance = homeApplianceDTO.toHomeAppliance();
+        assertAll(
+                () -> assertThat(appliance.getId(), is(equalTo(homeApplianceDTO.getId()))),
+                () -> assertThat(appliance.getVoltage(), is(equalTo(Voltage.toEnum(1)))),
+                () -> assertThat(appliance.getClassification(), is(equalTo(Classification.toEnum(2)))),
+                () -> assertThat(appliance.getEnergyConsumption().getName(), is(equalTo("Enceradeira"))),
+                () -> assertThat(HomeApplianceDTO.toDTO(appliance), is(equalTo(homeApplianceDTO)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When the enum codes are checked, then only an unknown voltage or classification is reported")
+    void whenTheEnumCodesAreCheckedThenOnlyUnknownCodesAreReported() {
+        HomeApplianceDTO badVoltage = HomeApplianceDTO.builder().voltage(9).classification(2).build();
+        HomeApplianceDTO badClassification = HomeApplianceDTO.builder().voltage(1).classification(9).build();
+        assertAll(
+                () -> assertThat(homeApplianceDTO.checkEnums(), is(nullValue())),
+                () -> assertThat(badVoltage.checkEnums(), is(equalTo(Voltage.validate(9)))),
+                () -> assertThat(badClassification.checkEnums(), is(equalTo(Classification.validate(9))))
+        );
+    }
+}
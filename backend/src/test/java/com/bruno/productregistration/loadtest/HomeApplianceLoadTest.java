@@ -0,0 +1,238 @@
+package com.bruno.productregistration.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.InventoryDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.utils.EnergyConsumptionAPIStub;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Boots the application on H2 with the energy consumption API replaced by a local stub, then drives a mixed
+ * read/write workload over HTTP at a fixed rate and reports throughput and latency percentiles per endpoint.
+ * Run it with: ./gradlew loadTest -Dloadtest.rate=300 -Dloadtest.duration=60
+ * Every setting below can be overridden with -Dloadtest.*, including each endpoint weight
+ * (for example -Dloadtest.weight.post-appliance=0).
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+public class HomeApplianceLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+
+    private static final int APPLIANCES = Integer.getInteger("loadtest.appliances", 2000);
+
+    private static final int REMOTE_CONSUMPTIONS = Integer.getInteger("loadtest.remote-consumptions", 50);
+
+    private static final Duration API_LATENCY = Duration.ofMillis(Long.getLong("loadtest.api-latency", 50));
+
+    private static final double API_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.api-error-rate", "0.01"));
+
+    private static final String REPORT_DIRECTORY = System.getProperty("loadtest.report-dir", "build/reports/loadtest");
+
+    private static final EnergyConsumptionAPIStub stub = EnergyConsumptionAPIStub.start();
+
+    @DynamicPropertySource
+    static void energyConsumptionAPIProperties(DynamicPropertyRegistry registry) {
+        registry.add("energy-consumption-api.url", stub::getUrl);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<HomeApplianceDTO> appliances = new ArrayList<>();
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @BeforeAll
+    static void setup() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        for (int i = 0; i < REMOTE_CONSUMPTIONS; i++)
+            stub.register(EnergyConsumption.builder().name("Load remote consumption " + i).power(100 + i).build());
+        seed();
+        stub.setLatency(API_LATENCY);
+        stub.setErrorRate(API_ERROR_RATE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Integer.getInteger("loadtest.client-threads", 16));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        int pages = Math.max(1, APPLIANCES / 20);
+        LoadGenerator generator = new LoadGenerator(client)
+                .add("GET /appliances", weight("list-appliances", 20),
+                        () -> get("/api/v1/appliances?size=20&page=" + random(pages)))
+                .add("GET /appliances/cursor", weight("cursor-appliances", 5),
+                        () -> get("/api/v1/appliances/cursor?size=20"))
+                .add("GET /appliances/id/{id}", weight("appliance-by-id", 25),
+                        () -> get("/api/v1/appliances/id/" + anyAppliance().getId()))
+                .add("GET /appliances/name/{name}", weight("appliance-by-name", 10),
+                        () -> get("/api/v1/appliances/name/" + encode(anyAppliance().getName())))
+                .add("POST /appliances", weight("post-appliance", 10),
+                        () -> send("POST", "/api/v1/appliances", newAppliance()))
+                .add("PUT /appliances/{id}", weight("put-appliance", 5),
+                        () -> {
+                            HomeApplianceDTO appliance = anyAppliance();
+                            return send("PUT", "/api/v1/appliances/" + appliance.getId(), changed(appliance));
+                        })
+                .add("PATCH /appliances/{id}/inventory", weight("patch-inventory", 5),
+                        () -> send("PATCH", "/api/v1/appliances/" + anyAppliance().getId() + "/inventory",
+                                InventoryDTO.builder().delta(random(2) == 0 ? 1 : -1).build()))
+                .add("GET /consumptions", weight("list-consumptions", 10),
+                        () -> get("/api/v1/consumptions?size=20"))
+                .add("GET /consumptions/id/{id}", weight("consumption-by-id", 10),
+                        () -> get("/api/v1/consumptions/id/" + encode(anyConsumptionName())))
+                .add("POST /consumptions", weight("post-consumption", 5),
+                        () -> send("POST", "/api/v1/consumptions", newConsumption()));
+        try {
+            generator.run(RATE, WARMUP);
+            LoadGenerator.Report report = generator.run(RATE, DURATION);
+            report.print(System.out);
+            report.writeHistograms(Paths.get(REPORT_DIRECTORY));
+            assertThat(report.getRequests(), is(greaterThan(0L)));
+            assertThat(report.getUnfinished(), is(equalTo(0L)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seed() {
+        List<HomeApplianceDTO> batch = new ArrayList<>(APPLIANCES);
+        for (int i = 0; i < APPLIANCES; i++) {
+            batch.add(HomeApplianceDTO.builder()
+                    .name("Load appliance " + i)
+                    .price(100.0)
+                    .inventory(i)
+                    .voltage(i % 3)
+                    .portable(i % 2 == 0)
+                    .classification(i % 5)
+                    .energyConsumption(EnergyConsumption.builder().name("Load remote consumption " + i % REMOTE_CONSUMPTIONS).build())
+                    .build());
+        }
+        List<BatchItemResultDTO> results = homeApplianceService.saveAll(batch);
+        for (BatchItemResultDTO result : results)
+            if (result.getStatus() == BatchItemResultDTO.Status.CREATED)
+                appliances.add(homeApplianceService.findById(result.getId()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HomeApplianceDTO newAppliance() {
+        int i = sequence.incrementAndGet();
+        return HomeApplianceDTO.builder()
+                .name("Load new appliance " + i)
+                .price(50.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name(i % 2 == 0 ? anyConsumptionName() : "Load new consumption " + i).build())
+                .build();
+    }
+
+    private static HomeApplianceDTO changed(HomeApplianceDTO appliance) {
+        return HomeApplianceDTO.builder()
+                .name(appliance.getName())
+                .description(appliance.getDescription())
+                .price(ThreadLocalRandom.current().nextInt(10, 1000) * 1.0)
+                .inventory(ThreadLocalRandom.current().nextInt(100))
+                .voltage(appliance.getVoltage())
+                .portable(appliance.getPortable())
+                .classification(appliance.getClassification())
+                .energyConsumption(appliance.getEnergyConsumption())
+                .build();
+    }
+
+    private EnergyConsumptionDTO newConsumption() {
+        return EnergyConsumptionDTO.builder().name("Load posted consumption " + sequence.incrementAndGet()).power(100).build();
+    }
+
+    private HomeApplianceDTO anyAppliance() {
+        return appliances.get(random(appliances.size()));
+    }
+
+    private String anyConsumptionName() {
+        return "Load remote consumption " + random(REMOTE_CONSUMPTIONS);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static int weight(String endpoint, int defaultWeight) {
+        return Integer.getInteger("loadtest.weight." + endpoint, defaultWeight);
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,181 @@
+package com.bruno.productregistration.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule whatever the response times are, and
+ * latency is measured from the scheduled start, so time spent queued behind slow responses is counted
+ * instead of hidden (no coordinated omission).
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final HttpClient client;
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private int totalWeight;
+
+    public LoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    public LoadGenerator add(String name, int weight, Supplier<HttpRequest> request) {
+        if (weight <= 0) return this;
+        endpoints.add(new Endpoint(name, weight, request));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Report run(double requestsPerSecond, Duration duration) {
+        endpoints.forEach(Endpoint::reset);
+        AtomicLong pending = new AtomicLong();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            Endpoint endpoint = pick();
+            long intendedStart = scheduled;
+            pending.incrementAndGet();
+            client.sendAsync(endpoint.request.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        endpoint.record(System.nanoTime() - intendedStart, error == null && response.statusCode() < 400);
+                        pending.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < drainDeadline) LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        return new Report(endpoints, requestsPerSecond, duration, pending.get());
+    }
+
+    private Endpoint pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight;
+            if (ticket < 0) return endpoint;
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static class Endpoint {
+
+        private final String name;
+
+        private final int weight;
+
+        private final Supplier<HttpRequest> request;
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void record(long nanos, boolean success) {
+            latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+            if (!success) errors.incrementAndGet();
+        }
+
+        private void reset() {
+            latencies.reset();
+            errors.set(0);
+        }
+    }
+
+    public static class Report {
+
+        private final List<Endpoint> endpoints;
+
+        private final double targetRate;
+
+        private final Duration duration;
+
+        private final long unfinished;
+
+        private Report(List<Endpoint> endpoints, double targetRate, Duration duration, long unfinished) {
+            this.endpoints = endpoints;
+            this.targetRate = targetRate;
+            this.duration = duration;
+            this.unfinished = unfinished;
+        }
+
+        public long getRequests() {
+            return endpoints.stream().mapToLong(endpoint -> endpoint.latencies.getTotalCount()).sum();
+        }
+
+        public long getErrors() {
+            return endpoints.stream().mapToLong(endpoint -> endpoint.errors.get()).sum();
+        }
+
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("Target %.0f req/s for %ds, %d requests unfinished%n", targetRate, duration.toSeconds(), unfinished);
+            out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            long errors = 0;
+            for (Endpoint endpoint : endpoints) {
+                print(out, endpoint.name, endpoint.latencies, endpoint.errors.get());
+                total.add(endpoint.latencies);
+                errors += endpoint.errors.get();
+            }
+            print(out, "all", total, errors);
+        }
+
+        public void writeHistograms(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Endpoint endpoint : endpoints) {
+                Path file = directory.resolve(endpoint.name.replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    endpoint.latencies.outputPercentileDistribution(out, 1_000_000.0);
+                }
+            }
+        }
+
+        private void print(PrintStream out, String name, Histogram latencies, long errors) {
+            out.printf("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name,
+                    latencies.getTotalCount(),
+                    errors,
+                    latencies.getTotalCount() / (double) duration.toSeconds(),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
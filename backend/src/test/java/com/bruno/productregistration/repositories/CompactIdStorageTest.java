@@ -0,0 +1,84 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.dto.CursorPageDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "appliances.id.storage=binary",
+        "spring.datasource.url=jdbc:h2:mem:compactids;MODE=PostgreSQL"
+})
+public class CompactIdStorageTest {
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("(1) When ids are stored as binary, then appliances are saved, found and paged by id as before")
+    void whenIdsAreStoredAsBinaryThenAppliancesAreSavedAndFound() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(homeApplianceService.save(HomeApplianceDTO.builder()
+                    .name("Compact id appliance " + i)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .build()).getId());
+        }
+        CursorPageDTO<HomeApplianceDTO> page = homeApplianceService.findAll(null, 100, "id", false);
+        List<String> pagedIds = page.getContent().stream().map(HomeApplianceDTO::getId).collect(Collectors.toList());
+        List<String> sortedIds = new ArrayList<>(pagedIds);
+        sortedIds.sort(null);
+        List<Integer> storedIdLengths = jdbcTemplate.queryForList("SELECT id FROM tb_product", byte[].class).stream()
+                .map(id -> id.length)
+                .collect(Collectors.toList());
+        assertAll(
+                () -> assertThat(homeApplianceService.findById(ids.get(0)).getName(), is(equalTo("Compact id appliance 0"))),
+                () -> assertThat(pagedIds, hasItems(ids.toArray(new String[0]))),
+                () -> assertThat(pagedIds, is(equalTo(sortedIds))),
+                () -> assertThat(storedIdLengths, everyItem(is(equalTo(16))))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When an id that is not a UUID is looked up, then throw a ResourceNotFoundException exception")
+    void whenAnIdThatIsNotAUUIDIsLookedUpThenThrowResourceNotFoundException() {
+        assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.findById("not-a-uuid"));
+    }
+
+    @Test
+    @DisplayName("(3) When ids are stored as binary, then inventory deltas find the appliance and reject an oversell")
+    void whenIdsAreStoredAsBinaryThenInventoryDeltasFindTheAppliance() {
+        String id = homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Compact id inventory appliance")
+                .inventory(2)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .build()).getId();
+        assertAll(
+                () -> assertThat(homeApplianceService.addInventory(id, 3).getInventory(), is(equalTo(5))),
+                () -> assertThrows(InsufficientInventoryException.class, () -> homeApplianceService.addInventory(id, -6)),
+                () -> assertThat(homeApplianceService.findById(id).getInventory(), is(equalTo(5)))
+        );
+    }
+}
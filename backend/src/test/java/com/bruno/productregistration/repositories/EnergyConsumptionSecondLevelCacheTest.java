@@ -0,0 +1,140 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.EnergyConsumptionService;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class EnergyConsumptionSecondLevelCacheTest {
+
+    private static final String NAME = "Second level cache consumption";
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionRepository energyConsumptionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        energyConsumptionRepository.save(EnergyConsumption.builder().name(NAME).power(100).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        createdIds.forEach(homeApplianceService::delete);
+        createdIds.clear();
+        if (energyConsumptionRepository.existsById(NAME)) energyConsumptionService.delete(NAME);
+    }
+
+    @Test
+    @DisplayName("(1) When a consumption is read again by id, then it comes from the second-level cache without a statement")
+    void whenAConsumptionIsReadAgainByIdThenItComesFromTheCache() {
+        energyConsumptionService.findById(NAME);
+        long statements = statistics.getPrepareStatementCount();
+        EnergyConsumptionDTO cached = energyConsumptionService.findById(NAME);
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(EnergyConsumption.CACHE_REGION);
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", EnergyConsumption.CACHE_REGION, "result", "hit")
+                .functionCounter();
+        assertAll(
+                () -> assertThat(cached.getPower(), is(equalTo(100))),
+                () -> assertThat(statistics.getPrepareStatementCount(), is(equalTo(statements))),
+                () -> assertThat(region.getHitCount(), is(greaterThanOrEqualTo(1L))),
+                () -> assertThat(hits, is(notNullValue())),
+                () -> assertThat(hits.count(), is(greaterThanOrEqualTo(1.0)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a consumption is looked up again by name, then the query result comes from the query cache")
+    void whenAConsumptionIsLookedUpAgainByNameThenTheResultComesFromTheQueryCache() {
+        energyConsumptionService.findByNameIgnoreCase(EnergyConsumptionDTO.builder().name(NAME.toUpperCase()).build());
+        long statements = statistics.getPrepareStatementCount();
+        EnergyConsumption cached = energyConsumptionService.findByNameIgnoreCase(
+                EnergyConsumptionDTO.builder().name(NAME.toLowerCase()).build());
+        assertAll(
+                () -> assertThat(cached.getName(), is(equalTo(NAME))),
+                () -> assertThat(statistics.getPrepareStatementCount(), is(equalTo(statements))),
+                () -> assertThat(statistics.getQueryCacheHitCount(), is(equalTo(1L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When an appliance using a cached consumption is created, then the consumption stays cached")
+    void whenAnApplianceIsCreatedThenTheConsumptionStaysCached() {
+        energyConsumptionService.findById(NAME);
+        createdIds.add(homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Second level cache appliance")
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name(NAME).build())
+                .build()).getId());
+        statistics.clear();
+        energyConsumptionService.findById(NAME);
+        assertAll(
+                () -> assertThat(statistics.getSecondLevelCacheHitCount(), is(equalTo(1L))),
+                () -> assertThat(statistics.getPrepareStatementCount(), is(equalTo(0L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(4) When a consumption is updated or deleted, then the cached entity and query results are invalidated")
+    void whenAConsumptionIsUpdatedOrDeletedThenTheCacheIsInvalidated() {
+        EnergyConsumptionDTO lookup = EnergyConsumptionDTO.builder().name(NAME).build();
+        energyConsumptionService.findById(NAME);
+        energyConsumptionService.findByNameIgnoreCase(lookup);
+        EnergyConsumptionDTO changed = energyConsumptionService.findById(NAME);
+        changed.setPower(250);
+        energyConsumptionService.update(NAME, changed);
+        int byId = energyConsumptionService.findById(NAME).getPower();
+        int byName = energyConsumptionService.findByNameIgnoreCase(lookup).getPower();
+        energyConsumptionService.delete(NAME);
+        assertAll(
+                () -> assertThat(byId, is(equalTo(250))),
+                () -> assertThat(byName, is(equalTo(250))),
+                () -> assertThrows(ResourceNotFoundException.class, () -> energyConsumptionService.findById(NAME)),
+                () -> assertThat(energyConsumptionRepository.findByNameIgnoreCase(NAME).isPresent(), is(false))
+        );
+    }
+}
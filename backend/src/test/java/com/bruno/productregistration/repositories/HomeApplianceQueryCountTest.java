@@ -0,0 +1,175 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.ExistingResourceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class HomeApplianceQueryCountTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private EnergyConsumptionRepository energyConsumptionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<HomeAppliance> appliances = new ArrayList<>();
+
+    private final List<EnergyConsumption> consumptions = new ArrayList<>();
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            EnergyConsumption consumption = EnergyConsumption.builder().name("Query count consumption " + i).power(i).build();
+            consumptions.add(consumption);
+            appliances.add(HomeAppliance.builder()
+                    .id(UUID.randomUUID().toString())
+                    .name("Query count appliance " + i)
+                    .price(1.0)
+                    .inventory(1)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .energyConsumption(consumption)
+                    .build());
+        }
+        energyConsumptionRepository.persistAll(consumptions);
+        homeApplianceRepository.persistAll(appliances);
+        homeApplianceViewRepository.persistAll(appliances.stream().map(HomeApplianceView::of).collect(Collectors.toList()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        createdIds.forEach(id -> {
+            homeApplianceRepository.deleteById(id);
+            homeApplianceViewRepository.removeById(id);
+        });
+        createdIds.clear();
+        homeApplianceRepository.deleteAll(appliances);
+        appliances.forEach(appliance -> homeApplianceViewRepository.removeById(appliance.getId()));
+        energyConsumptionRepository.deleteAll(consumptions);
+        appliances.clear();
+        consumptions.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When a page of 100 appliances is listed, then its consumptions come with the same query")
+    void whenAPageIsListedThenFetchTheConsumptionsWithTheSameQuery() {
+        int size = homeApplianceService.findAll(PageRequest.of(0, PAGE_SIZE)).getNumberOfElements();
+        long pageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        homeApplianceService.findAll(null, PAGE_SIZE, "name", false);
+        long cursorStatements = statistics.getPrepareStatementCount();
+        assertAll(
+                () -> assertThat(size, is(equalTo(PAGE_SIZE))),
+                () -> assertThat(pageStatements, is(lessThanOrEqualTo(2L))),
+                () -> assertThat(cursorStatements, is(equalTo(1L))),
+                () -> assertThat(statistics.getEntityFetchCount(), is(equalTo(0L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When an appliance is looked up by id or name, then a single statement is used")
+    void whenAnApplianceIsLookedUpThenUseASingleStatement() {
+        HomeAppliance appliance = appliances.get(0);
+        homeApplianceService.findById(appliance.getId());
+        long byId = statistics.getPrepareStatementCount();
+        statistics.clear();
+        homeApplianceService.findByNameIgnoreCase(appliance.getName().toUpperCase());
+        long byName = statistics.getPrepareStatementCount();
+        assertAll(
+                () -> assertThat(byId, is(equalTo(1L))),
+                () -> assertThat(byName, is(equalTo(1L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When an appliance is created, then each table gets a single insert and nothing is selected before it")
+    void whenAnApplianceIsCreatedThenInsertOncePerTable() {
+        HomeApplianceDTO withoutConsumption = homeApplianceService.save(newAppliance("Query count new appliance", null));
+        createdIds.add(withoutConsumption.getId());
+        long withoutConsumptionStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        HomeApplianceDTO withConsumption = homeApplianceService.save(newAppliance("Query count new appliance 2",
+                EnergyConsumption.builder().name(consumptions.get(0).getName().toUpperCase()).build()));
+        createdIds.add(withConsumption.getId());
+        long withConsumptionStatements = statistics.getPrepareStatementCount();
+        assertAll(
+                () -> assertThat(withoutConsumptionStatements, is(equalTo(3L))),
+                () -> assertThat(withConsumptionStatements, is(equalTo(4L))),
+                () -> assertThat(withConsumption.getEnergyConsumption().getName(), is(equalTo(consumptions.get(0).getName()))),
+                () -> assertThat(homeApplianceService.findById(withConsumption.getId()).getEnergyConsumption().getPower(),
+                        is(equalTo(consumptions.get(0).getPower())))
+        );
+    }
+
+    @Test
+    @DisplayName("(4) When a registered id or name is given to create an appliance, then the constraint violation becomes an ExistingResourceException")
+    void whenARegisteredIdOrNameIsGivenThenThrowExistingResourceException() {
+        HomeAppliance registered = appliances.get(0);
+        HomeApplianceDTO sameName = newAppliance(registered.getName().toLowerCase(), null);
+        HomeApplianceDTO sameId = newAppliance("Query count appliance with a registered id", null);
+        sameId.setId(registered.getId());
+        ExistingResourceException byName = assertThrows(ExistingResourceException.class, () -> homeApplianceService.save(sameName));
+        ExistingResourceException byId = assertThrows(ExistingResourceException.class, () -> homeApplianceService.save(sameId));
+        assertAll(
+                () -> assertThat(byName.getMessage(), endsWith(sameName.getName())),
+                () -> assertThat(byId.getMessage(), endsWith(registered.getId())),
+                () -> assertThat(homeApplianceViewRepository.count(), is(equalTo(homeApplianceRepository.count())))
+        );
+    }
+
+    private HomeApplianceDTO newAppliance(String name, EnergyConsumption consumption) {
+        return HomeApplianceDTO.builder()
+                .name(name)
+                .price(1.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(consumption)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.bruno.productregistration.repositories;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.bruno.productregistration.repositories.NameKeyIndexTest$RecordingStatementInspector")
+public class NameKeyIndexTest {
+
+    private static final String REGISTERED_ID = "eba9031b-b87d-4b91-9afd-9a1e0387a9bf";
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private EnergyConsumptionRepository energyConsumptionRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("(1) When a name is looked up ignoring case, then the statement issued uses the name key index")
+    void whenANameIsLookedUpIgnoringCaseThenUseTheIndex() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        RecordingStatementInspector.STATEMENTS.clear();
+        homeApplianceRepository.findByNameIgnoreCase("ENCERADEIRA");
+        energyConsumptionRepository.findByNameIgnoreCase("ENCERADEIRA");
+        String productPlan = explain(issuedStatement("tb_home_appliance"), "enceradeira");
+        String consumptionPlan = explain(issuedStatement("tb_energy_consumption"), "enceradeira");
+        String upperPlan = explain("SELECT * FROM tb_product WHERE UPPER(name) = UPPER(?)", "enceradeira");
+        assertAll(
+                () -> assertThat(productPlan, containsString("UX_PRODUCT_NAME_KEY")),
+                () -> assertThat(productPlan, not(containsString("TABLESCAN"))),
+                () -> assertThat(consumptionPlan, containsString("UX_ENERGY_CONSUMPTION_NAME_KEY")),
+                () -> assertThat(upperPlan, not(containsString("UX_PRODUCT_NAME_KEY")))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When entities are saved, then their name keys are kept as the case-folded names")
+    void whenEntitiesAreSavedThenKeepTheirNameKeys() {
+        Optional<HomeAppliance> appliance = homeApplianceRepository.findByNameIgnoreCase("ENCERADEIRA");
+        Optional<EnergyConsumption> consumption = energyConsumptionRepository.findByNameIgnoreCase("enceradeira");
+        String storedKey = jdbcTemplate.queryForObject(
+                "SELECT name_key FROM tb_product WHERE id = ?", String.class, REGISTERED_ID);
+        assertAll(
+                () -> assertThat(appliance.orElseThrow().getId(), is(equalTo(REGISTERED_ID))),
+                () -> assertThat(consumption.orElseThrow().getName(), is(equalTo("Enceradeira"))),
+                () -> assertThat(storedKey, is(equalTo("enceradeira")))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When a detached appliance is saved with a new name, then its name key follows the name")
+    void whenADetachedApplianceIsRenamedThenItsNameKeyFollows() {
+        String id = "7d0c55a1-8f9e-4c8b-b1a2-3c4d5e6f7a8b";
+        homeApplianceRepository.save(appliance(id, "Name key mixer"));
+        homeApplianceRepository.save(appliance(id, "Name Key BLENDER"));
+        Optional<HomeAppliance> renamed = homeApplianceRepository.findByNameIgnoreCase("name key blender");
+        homeApplianceRepository.deleteById(id);
+        assertThat(renamed.orElseThrow().getId(), is(equalTo(id)));
+    }
+
+    @Test
+    @DisplayName("(4) When the read model is paged by name with a cursor, then the statements issued seek and order on the name and id index")
+    void whenTheReadModelIsPagedByNameThenUseTheNameAndIdIndex() {
+        RecordingStatementInspector.STATEMENTS.clear();
+        homeApplianceViewRepository.seekByName(PageRequest.of(0, 3));
+        homeApplianceViewRepository.seekByNameAfter("Enceradeira", REGISTERED_ID, PageRequest.of(0, 3));
+        homeApplianceViewRepository.seekFieldsByName(Set.of("id", "version", "name"), null, null, 3);
+        homeApplianceViewRepository.seekFieldsByName(Set.of("id", "version", "name"), "Enceradeira", REGISTERED_ID, 3);
+        List<String> plans = new CopyOnWriteArrayList<>();
+        RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from tb_home_appliance_view "))
+                .forEach(sql -> plans.add(jdbcTemplate.queryForObject("EXPLAIN " + sql
+                        .replace("name>=?", "name>='Enceradeira'")
+                        .replace("name>?", "name>'Enceradeira'")
+                        .replace("id>?", "id>'" + REGISTERED_ID + "'")
+                        .replace("?", "3"), String.class).toUpperCase()));
+        assertThat(plans, hasSize(4));
+        assertThat(plans, everyItem(allOf(
+                containsString("IX_HOME_APPLIANCE_VIEW_NAME_ID"),
+                containsString("INDEX SORTED"),
+                not(containsString("TABLESCAN")))));
+    }
+
+    private static HomeAppliance appliance(String id, String name) {
+        return HomeAppliance.builder()
+                .id(id)
+                .name(name)
+                .price(1.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(false)
+                .classification(1)
+                .build();
+    }
+
+    private static String issuedStatement(String table) {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " ") && sql.contains("name_key=?"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String explain(String sql, String nameKey) {
+        assertThat(sql.chars().filter(c -> c == '?').count(), is(equalTo(1L)));
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "'" + nameKey + "'"), String.class).toUpperCase();
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.config.BinaryFormatConfig;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class BinaryFormatTest {
+
+    private static final String URN = "/api/v1/appliances/";
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(BinaryFormatConfig.APPLICATION_SMILE_VALUE);
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    private HomeApplianceDTO appliance;
+
+    @BeforeEach
+    void setup() {
+        appliance = homeApplianceService.save(newAppliance("Binary format appliance"));
+        createdIds.add(appliance.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        createdIds.forEach(homeApplianceService::delete);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When a page is requested as CBOR or Smile, then it holds the same fields as the JSON page, which stays the default, and is smaller")
+    void whenAPageIsRequestedAsCborOrSmileThenItHoldsTheSameFieldsAsJson() throws Exception {
+        MockHttpServletResponse asJson = page(MediaType.APPLICATION_JSON);
+        MockHttpServletResponse asCbor = page(MediaType.APPLICATION_CBOR);
+        MockHttpServletResponse asSmile = page(APPLICATION_SMILE);
+        MockHttpServletResponse asAnything = page(MediaType.ALL);
+        JsonNode expected = json.readTree(asJson.getContentAsByteArray());
+        assertAll(
+                () -> assertThat(asAnything.getContentType(), is(equalTo(MediaType.APPLICATION_JSON_VALUE))),
+                () -> assertThat(asCbor.getContentType(), is(equalTo(MediaType.APPLICATION_CBOR_VALUE))),
+                () -> assertThat(asSmile.getContentType(), is(equalTo(BinaryFormatConfig.APPLICATION_SMILE_VALUE))),
+                () -> assertThat(cbor.readTree(asCbor.getContentAsByteArray()), is(equalTo(expected))),
+                () -> assertThat(smile.readTree(asSmile.getContentAsByteArray()), is(equalTo(expected))),
+                () -> assertThat(asCbor.getContentAsByteArray().length, is(lessThan(asJson.getContentAsByteArray().length))),
+                () -> assertThat(asSmile.getContentAsByteArray().length, is(lessThan(asJson.getContentAsByteArray().length))),
+                () -> assertThat(asCbor.getHeaders(HttpHeaders.VARY), hasItem(HttpHeaders.ACCEPT))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a single appliance is requested as CBOR, then it is returned with the weak ETag, which works for If-None-Match")
+    void whenASingleApplianceIsRequestedAsCborThenItIsReturnedWithTheWeakETag() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(URN + "id/" + appliance.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        JsonNode body = cbor.readTree(response.getContentAsByteArray());
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/consumptions/id/Enceradeira").accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE));
+        assertAll(
+                () -> assertThat(etag, is(equalTo("W/\"" + appliance.getId() + "." + appliance.getVersion() + "\""))),
+                () -> assertThat(body.get("name").asText(), is(equalTo(appliance.getName()))),
+                () -> assertThat(body.get("energyConsumption").get("name").asText(), is(equalTo("Enceradeira")))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When an appliance is posted as Smile, then it is created and returned in the accepted format")
+    void whenAnApplianceIsPostedAsSmileThenItIsCreated() throws Exception {
+        byte[] content = smile.writeValueAsBytes(newAppliance("Binary format posted appliance"));
+        MockHttpServletResponse response = mockMvc.perform(post(URN)
+                        .contentType(APPLICATION_SMILE)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        JsonNode created = cbor.readTree(response.getContentAsByteArray());
+        createdIds.add(created.get("id").asText());
+        assertThat(created.get("name").asText(), is(equalTo("Binary format posted appliance")));
+    }
+
+    private MockHttpServletResponse page(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(URN).param("size", "50").param("sort", "name").accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private static HomeApplianceDTO newAppliance(String name) {
+        return HomeApplianceDTO.builder()
+                .name(name)
+                .price(10.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build();
+    }
+}
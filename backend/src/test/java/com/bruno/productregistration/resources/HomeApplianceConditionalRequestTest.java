@@ -0,0 +1,200 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.config.BinaryFormatConfig;
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.EnergyConsumptionService;
+import com.bruno.productregistration.services.HomeApplianceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static com.bruno.productregistration.resources.utils.JsonConversionUtil.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class HomeApplianceConditionalRequestTest {
+
+    private static final String URN = "/api/v1/appliances/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    private HomeApplianceDTO appliance;
+
+    @BeforeEach
+    void setup() {
+        appliance = homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Conditional request appliance")
+                .price(10.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        homeApplianceService.delete(appliance.getId());
+    }
+
+    @Test
+    @DisplayName("(1) When the If-None-Match header holds the current ETag, then return 304 without a body on both single resource routes")
+    void whenIfNoneMatchHoldsTheCurrentETagThenReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get(URN + "name/" + appliance.getName().toUpperCase()).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(appliance.getName())));
+    }
+
+    @Test
+    @DisplayName("(2) When If-Match holds the current strong ETag, then update and return a new ETag, otherwise return 412, also for its weak form")
+    void whenIfMatchHoldsTheCurrentETagThenUpdateOtherwisePreconditionFailed() throws Exception {
+        String etag = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        appliance.setPrice(20.0);
+        String updated = mockMvc.perform(put(URN + appliance.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        appliance.setPrice(30.0);
+        mockMvc.perform(put(URN + appliance.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put(URN + appliance.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/" + updated)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(updated, is(not(equalTo(etag))));
+        assertThat(homeApplianceService.findById(appliance.getId()).getPrice(), is(equalTo(20.0)));
+    }
+
+    @Test
+    @DisplayName("(3) When the embedded energy consumption changes, then the appliance ETag changes")
+    void whenTheEnergyConsumptionChangesThenTheETagChanges() throws Exception {
+        String etag = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        EnergyConsumptionDTO consumption = energyConsumptionService.findById("Enceradeira");
+        energyConsumptionService.update("Enceradeira", consumption);
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(equalTo(etag))));
+    }
+
+    @Test
+    @DisplayName("(4) When a list page has not changed, then return 304 and when one of its appliances changes, then return it again")
+    void whenAListPageHasNotChangedThenReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get(URN).param("size", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(URN).param("size", "100").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        appliance.setInventory(5);
+        homeApplianceService.update(appliance.getId(), appliance);
+        mockMvc.perform(get(URN).param("size", "100").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("(5) When a body is negotiated as CBOR or Smile, then it carries the weak form of the JSON tag on every endpoint")
+    void whenABodyIsNegotiatedAsCborOrSmileThenItCarriesTheWeakTag() throws Exception {
+        String name = URN + "name/" + appliance.getName();
+        String page = etag(get(URN).param("size", "100"), MediaType.APPLICATION_JSON);
+        String cborPage = etag(get(URN).param("size", "100"), MediaType.APPLICATION_CBOR);
+        String cursor = etag(get(URN + "cursor").param("size", "100"), MediaType.APPLICATION_JSON);
+        String cborCursor = etag(get(URN + "cursor").param("size", "100"), MediaType.APPLICATION_CBOR);
+        String byName = etag(get(name), MediaType.APPLICATION_JSON);
+        String smileByName = etag(get(name), MediaType.parseMediaType(BinaryFormatConfig.APPLICATION_SMILE_VALUE));
+        appliance.setInventory(7);
+        String cborUpdate = mockMvc.perform(put(URN + appliance.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertAll(
+                () -> assertThat(page, startsWith("\"")),
+                () -> assertThat(cborPage, is(equalTo("W/" + page))),
+                () -> assertThat(cursor, startsWith("\"")),
+                () -> assertThat(cborCursor, is(equalTo("W/" + cursor))),
+                () -> assertThat(byName, is(equalTo("\"" + appliance.getId() + "." + appliance.getVersion() + "\""))),
+                () -> assertThat(smileByName, is(equalTo("W/" + byName))),
+                () -> assertThat(cborUpdate, is(equalTo("W/\"" + appliance.getId() + "." + (appliance.getVersion() + 1) + "\"")))
+        );
+    }
+
+    @Test
+    @DisplayName("(6) When the body has not changed, then the 304 carries the same form of the tag the 200 would carry")
+    void whenTheBodyHasNotChangedThenTheNotModifiedCarriesTheSameTagForm() throws Exception {
+        String etag = "\"" + appliance.getId() + "." + appliance.getVersion() + "\"";
+        String weak = "W/" + etag;
+        mockMvc.perform(get(URN + "name/" + appliance.getName()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, weak));
+        mockMvc.perform(get(URN + "name/" + appliance.getName()).header(HttpHeaders.IF_NONE_MATCH, weak))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, weak));
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, weak));
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).param("fields", "name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, weak));
+        String cborPage = etag(get(URN).param("size", "100"), MediaType.APPLICATION_CBOR);
+        mockMvc.perform(get(URN).param("size", "100").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborPage.substring(2)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cborPage));
+    }
+
+    private String etag(MockHttpServletRequestBuilder request, MediaType mediaType) throws Exception {
+        return mockMvc.perform(request.accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,142 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class HomeApplianceFieldsTest {
+
+    private static final String URN = "/api/v1/appliances/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<HomeApplianceDTO> appliances = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 3; i++) {
+            appliances.add(homeApplianceService.save(HomeApplianceDTO.builder()
+                    .name("Fields appliance " + i)
+                    .description("Not selected")
+                    .price(10.0 + i)
+                    .inventory(i)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                    .build()));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        appliances.forEach(appliance -> homeApplianceService.delete(appliance.getId()));
+        appliances.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When a page is requested with fields, then only those properties are written and only their columns are selected")
+    void whenAPageIsRequestedWithFieldsThenOnlyThosePropertiesAreWritten() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(URN)
+                        .param("fields", "id,name,price,inventory")
+                        .param("size", "1000")
+                        .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].*", hasSize(4)))
+                .andExpect(jsonPath("$.content[?(@.name == 'Fields appliance 1')].price", contains(11.0)))
+                .andExpect(jsonPath("$.content[?(@.name == 'Fields appliance 1')].description").isEmpty())
+                .andExpect(jsonPath("$.totalElements", is(greaterThanOrEqualTo(3))))
+                .andReturn().getResponse();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        String queries = Arrays.toString(statistics.getQueries());
+        mockMvc.perform(get(URN).param("fields", "id,name,price,inventory").param("size", "1000").param("sort", "name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        String fullEtag = mockMvc.perform(get(URN).param("size", "1000").param("sort", "name"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertAll(
+                () -> assertThat(queries, containsString(".price")),
+                () -> assertThat(queries, not(containsString(".description"))),
+                () -> assertThat(queries, not(containsString(".power"))),
+                () -> assertThat(etag, is(not(equalTo(fullEtag))))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a cursor page is requested with fields, then the cursor still walks by name without name being written")
+    void whenACursorPageIsRequestedWithFieldsThenTheCursorStillWalks() throws Exception {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(URN + "cursor").param("fields", "id,inventory").param("size", "2");
+            if (cursor != null) request.param("cursor", cursor);
+            MockHttpServletResponse response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].name").isEmpty())
+                    .andReturn().getResponse();
+            ids.addAll(JsonPath.read(response.getContentAsString(), "$.content[*].id"));
+            cursor = JsonPath.read(response.getContentAsString(), "$.next");
+        } while (cursor != null);
+        assertThat(ids, hasItems(appliances.stream().map(HomeApplianceDTO::getId).toArray(String[]::new)));
+    }
+
+    @Test
+    @DisplayName("(3) When an appliance is looked up with fields, then they are written in the order given with the weak ETag, and unknown fields are refused")
+    void whenAnApplianceIsLookedUpWithFieldsThenTheyAreWrittenInOrder() throws Exception {
+        HomeApplianceDTO appliance = appliances.get(0);
+        String byId = mockMvc.perform(get(URN + "id/" + appliance.getId()).param("fields", "energyConsumption, name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + appliance.getId() + "." + appliance.getVersion() + "\""))
+                .andExpect(jsonPath("$.energyConsumption.name", is("Enceradeira")))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get(URN + "name/" + appliance.getName().toUpperCase()).param("fields", "inventory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$.inventory", is(0)));
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).param("fields", "name,secret"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(URN).param("fields", " , "))
+                .andExpect(status().isBadRequest());
+        assertThat(byId, startsWith("{\"energyConsumption\":"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.InventoryDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.bruno.productregistration.resources.utils.JsonConversionUtil.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class HomeApplianceInventoryTest {
+
+    private static final String URN = "/api/v1/appliances/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    private HomeApplianceDTO appliance;
+
+    @BeforeEach
+    void setup() {
+        appliance = homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Inventory appliance")
+                .price(10.0)
+                .inventory(5)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        homeApplianceService.delete(appliance.getId());
+    }
+
+    @Test
+    @DisplayName("(1) When a delta is patched, then return the new inventory and ETag and update the read model")
+    void whenADeltaIsPatchedThenReturnTheNewInventory() throws Exception {
+        String etag = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String updated = mockMvc.perform(patch(URN + appliance.getId() + "/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(InventoryDTO.builder().delta(3).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(appliance.getId())))
+                .andExpect(jsonPath("$.delta", is(3)))
+                .andExpect(jsonPath("$.inventory", is(8)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch(URN + appliance.getId() + "/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(InventoryDTO.builder().delta(-8).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inventory", is(0)));
+        assertAll(
+                () -> assertThat(updated, is(not(equalTo(etag)))),
+                () -> assertThat(homeApplianceService.findById(appliance.getId()).getInventory(), is(equalTo(0)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a delta would oversell, then return 409 and keep the inventory")
+    void whenADeltaWouldOversellThenReturnConflict() throws Exception {
+        mockMvc.perform(patch(URN + appliance.getId() + "/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(InventoryDTO.builder().delta(-6).build())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString(appliance.getId())));
+        assertThat(homeApplianceService.findById(appliance.getId()).getInventory(), is(equalTo(5)));
+    }
+
+    @Test
+    @DisplayName("(3) When the appliance does not exist or the delta is missing, then return 404 or 400")
+    void whenTheApplianceDoesNotExistThenReturnNotFound() throws Exception {
+        mockMvc.perform(patch(URN + "missing/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(InventoryDTO.builder().delta(1).build())))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch(URN + appliance.getId() + "/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("(4) When many deltas hit the same appliance concurrently, then no update is lost and none oversells")
+    void whenManyDeltasHitTheSameApplianceConcurrentlyThenNoUpdateIsLost() throws Exception {
+        int threads = 8;
+        int decrementsPerThread = 25;
+        homeApplianceService.addInventory(appliance.getId(), 95);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    int sold = 0;
+                    for (int j = 0; j < decrementsPerThread; j++) {
+                        try {
+                            homeApplianceService.addInventory(appliance.getId(), -1);
+                            sold++;
+                        } catch (InsufficientInventoryException e) {
+                            // sold out
+                        }
+                    }
+                    return sold;
+                }));
+            }
+            int sold = 0;
+            for (Future<Integer> future : futures) sold += future.get();
+            int total = sold;
+            assertAll(
+                    () -> assertThat(total, is(equalTo(100))),
+                    () -> assertThat(homeApplianceService.findById(appliance.getId()).getInventory(), is(equalTo(0)))
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.EnergyConsumptionService;
+import com.bruno.productregistration.services.HomeApplianceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static com.bruno.productregistration.resources.utils.JsonConversionUtil.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class HomeApplianceJsonCacheTest {
+
+    private static final String URN = "/api/v1/appliances/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HomeApplianceDTO appliance;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        appliance = homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("JSON cache appliance")
+                .price(10.0)
+                .inventory(1)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        if (homeApplianceService.findVersionById(appliance.getId()).isPresent()) homeApplianceService.delete(appliance.getId());
+    }
+
+    @Test
+    @DisplayName("(1) When an appliance is read again by id, then the cached JSON is returned without a statement")
+    void whenAnApplianceIsReadAgainThenTheCachedJsonIsReturned() throws Exception {
+        String first = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        statistics.clear();
+        MockHttpServletResponse second = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        long statements = statistics.getPrepareStatementCount();
+        assertAll(
+                () -> assertThat(statements, is(equalTo(0L))),
+                () -> assertThat(second.getContentAsString(), is(equalTo(first))),
+                () -> assertThat(first, is(equalTo(objectMapper.writeValueAsString(homeApplianceService.findById(appliance.getId()))))),
+                () -> assertThat(second.getHeader(HttpHeaders.ETAG), is(equalTo("\"" + appliance.getId() + "." + appliance.getVersion() + "\""))),
+                () -> assertThat(second.getHeaders(HttpHeaders.VARY), hasItem(HttpHeaders.ACCEPT_ENCODING))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When gzip is accepted, then the gzipped JSON is returned with the weak ETag, which works for If-None-Match but not for If-Match")
+    void whenGzipIsAcceptedThenTheGzippedJsonIsReturned() throws Exception {
+        String json = mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andReturn().getResponse().getContentAsString();
+        MockHttpServletResponse gzipped = mockMvc.perform(get(URN + "id/" + appliance.getId())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        String etag = gzipped.getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get(URN + "id/" + appliance.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        appliance.setPrice(20.0);
+        mockMvc.perform(put(URN + appliance.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put(URN + appliance.getId())
+                        .header(HttpHeaders.IF_MATCH, etag.substring(2))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(appliance)))
+                .andExpect(status().isOk());
+        String decoded = gunzip(gzipped.getContentAsByteArray());
+        assertAll(
+                () -> assertThat(etag, startsWith("W/\"" + appliance.getId() + ".")),
+                () -> assertThat(decoded, is(equalTo(json)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When the appliance, its inventory or its energy consumption changes, or it is deleted, then the cached JSON is dropped")
+    void whenTheApplianceChangesThenTheCachedJsonIsDropped() throws Exception {
+        mockMvc.perform(get(URN + "id/" + appliance.getId()));
+        appliance.setDescription("Updated");
+        homeApplianceService.update(appliance.getId(), appliance);
+        mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(jsonPath("$.description", is("Updated")));
+        homeApplianceService.addInventory(appliance.getId(), 4);
+        mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(jsonPath("$.inventory", is(5)));
+        EnergyConsumptionDTO consumption = energyConsumptionService.findById("Enceradeira");
+        int power = consumption.getPower();
+        consumption.setPower(power + 1);
+        energyConsumptionService.update("Enceradeira", consumption);
+        try {
+            mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                    .andExpect(jsonPath("$.energyConsumption.power", is(power + 1)));
+        } finally {
+            consumption.setPower(power);
+            energyConsumptionService.update("Enceradeira", consumption);
+        }
+        homeApplianceService.delete(appliance.getId());
+        mockMvc.perform(get(URN + "id/" + appliance.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bruno.productregistration.resources;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.HomeApplianceService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.bruno.productregistration.resources.utils.JsonConversionUtil.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+public class HomeApplianceLookupTest {
+
+    private static final String URN = "/api/v1/appliances/ids";
+
+    private static final String MISSING_ID = "00000000-0000-0000-0000-000000000000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<HomeApplianceDTO> appliances = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 3; i++) {
+            appliances.add(homeApplianceService.save(HomeApplianceDTO.builder()
+                    .name("Lookup appliance " + i)
+                    .price(10.0)
+                    .inventory(i)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                    .build()));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        appliances.forEach(appliance -> homeApplianceService.delete(appliance.getId()));
+        appliances.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When many ids are looked up, then the appliances come in the order asked with one statement and the missing ids are reported")
+    void whenManyIdsAreLookedUpThenTheAppliancesComeInOrder() throws Exception {
+        String ids = String.join(",", appliances.get(2).getId(), MISSING_ID, appliances.get(0).getId(), appliances.get(2).getId());
+        mockMvc.perform(get(URN).param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content[*].id", contains(appliances.get(2).getId(), appliances.get(0).getId())))
+                .andExpect(jsonPath("$.content[0].energyConsumption.name", is("Enceradeira")))
+                .andExpect(jsonPath("$.missing", contains(MISSING_ID)));
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    @DisplayName("(2) When the ids are posted, then they are looked up the same way")
+    void whenTheIdsArePostedThenTheyAreLookedUp() throws Exception {
+        mockMvc.perform(post(URN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(appliances.get(1).getId(), appliances.get(0).getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Lookup appliance 1", "Lookup appliance 0")))
+                .andExpect(jsonPath("$.missing", is(empty())));
+    }
+
+    @Test
+    @DisplayName("(3) When no ids or more ids than allowed are looked up, then the lookup is refused")
+    void whenNoIdsOrTooManyIdsAreLookedUpThenTheLookupIsRefused() throws Exception {
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i < 101; i++) tooMany.add(String.valueOf(i));
+        mockMvc.perform(post(URN).contentType(MediaType.APPLICATION_JSON).content(asJsonString(Collections.emptyList())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(URN).contentType(MediaType.APPLICATION_JSON).content(asJsonString(tooMany)))
+                .andExpect(status().isBadRequest());
+    }
+}
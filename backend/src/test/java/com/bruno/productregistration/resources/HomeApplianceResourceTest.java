@@ -1,7 +1,9 @@
 package com.bruno.productregistration.resources;
 
+import com.bruno.productregistration.dto.BatchItemResultDTO;
 import com.bruno.productregistration.dto.HomeApplianceDTO;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.impl.HomeApplianceJsonCache.SerializedAppliance;
 import com.bruno.productregistration.services.impl.HomeApplianceServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,18 +18,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 
 import static com.bruno.productregistration.resources.utils.JsonConversionUtil.asJsonString;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 public class HomeApplianceResourceTest {
@@ -115,7 +121,8 @@ public class HomeApplianceResourceTest {
     @Test
     @DisplayName("(4) When GET is called to find a product by id, then OK status is returned")
     void whenGETIsCalledToFindAProductByIdThenReturnOkStatus() throws Exception {
-        when(homeApplianceService.findById(goodDTO.getId())).thenReturn(goodDTO);
+        when(homeApplianceService.findSerializedById(goodDTO.getId())).thenReturn(new SerializedAppliance(goodDTO.getId(),
+                goodDTO.getVersion(), asJsonString(goodDTO).getBytes(StandardCharsets.UTF_8), new byte[0]));
         mockMvc.perform(MockMvcRequestBuilders.get(URN + "/id/" + goodDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -133,7 +140,7 @@ public class HomeApplianceResourceTest {
     @Test
     @DisplayName("(5) When GET is called with an invalid id, then return a 404 not found status")
     void whenGETIsCalledWithAnInvalidIdThenReturnNotFoundStatus() throws Exception{
-        doThrow(ResourceNotFoundException.class).when(homeApplianceService).findById(badDTO.getId());
+        doThrow(ResourceNotFoundException.class).when(homeApplianceService).findSerializedById(badDTO.getId());
         mockMvc.perform(MockMvcRequestBuilders.get(URN + "/id/" + badDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
@@ -170,7 +177,7 @@ public class HomeApplianceResourceTest {
     @Test
     @DisplayName("(8) When PUT is called to update a product with a valid id, then return 200 Ok status")
     void whenPUTIsCalledToUpdateAProductThenReturnOkStatus() throws Exception {
-        when(homeApplianceService.update(goodDTO.getId(), goodDTO)).thenReturn(goodDTO);
+        when(homeApplianceService.update(goodDTO.getId(), goodDTO, null)).thenReturn(goodDTO);
         mockMvc.perform(MockMvcRequestBuilders.put(URN + goodDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(asJsonString(goodDTO)))
@@ -190,7 +197,7 @@ public class HomeApplianceResourceTest {
     @DisplayName("(9) When PUT is called to update a product with an invalid id, " +
             "then return 404 not found status")
     void whenPUTIsCalledToUpdateAProductThenReturnNotFoundStatus() throws Exception {
-        doThrow(ResourceNotFoundException.class).when(homeApplianceService).update(goodDTO.getId(), goodDTO);
+        doThrow(ResourceNotFoundException.class).when(homeApplianceService).update(goodDTO.getId(), goodDTO, null);
         mockMvc.perform(MockMvcRequestBuilders.put(URN + goodDTO.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(asJsonString(goodDTO)))
@@ -224,4 +231,46 @@ public class HomeApplianceResourceTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("(13) When POST is called with a batch, then return 200 Ok status with a result per item")
+    void whenPOSTIsCalledWithABatchThenReturnAResultPerItem() throws Exception {
+        List<HomeApplianceDTO> batch = List.of(goodDTO, badDTO);
+        when(homeApplianceService.saveAll(batch)).thenReturn(List.of(
+                BatchItemResultDTO.of(0, goodDTO, BatchItemResultDTO.Status.CREATED),
+                BatchItemResultDTO.rejected(1, badDTO, "name: This field must have from 3 to 100 characters maximum!")
+        ));
+        mockMvc.perform(post(URN + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(goodDTO.getId())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is("REJECTED")));
+    }
+
+    @Test
+    @DisplayName("(14) When GET is called to export the catalog, then stream it as NDJSON")
+    void whenGETIsCalledToExportTheCatalogThenStreamItAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write((asJsonString(goodDTO) + "\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(homeApplianceService).exportAsNdjson(any());
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(URN + "export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(asJsonString(goodDTO) + "\n"));
+    }
+
+    @Test
+    @DisplayName("(15) When GET is called to export the catalog in an unknown format, then return 400 bad request status")
+    void whenGETIsCalledToExportInAnUnknownFormatThenReturnBadRequestStatus() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URN + "export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(homeApplianceService);
+    }
 }
@@ -0,0 +1,119 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.impl.EnergyConsumptionAPICache;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EnergyConsumptionAPICacheTest {
+
+    @Mock
+    private EnergyConsumptionAPIService energyConsumptionAPIService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EnergyConsumptionAPICache energyConsumptionAPICache;
+
+    private EnergyConsumption goodObject = EnergyConsumption.builder()
+            .name("Vacuum")
+            .power(500)
+            .build();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        energyConsumptionAPICache = new EnergyConsumptionAPICache(
+                energyConsumptionAPIService, CircuitBreaker.ofDefaults("energyConsumptionAPI"), meterRegistry,
+                2, Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("(1) When a name is found by the remote API, then the next lookups don't call it again")
+    void whenANameIsFoundThenCacheIt() {
+        when(energyConsumptionAPIService.getConsumption("Vacuum")).thenReturn(goodObject);
+        Optional<EnergyConsumption> first = energyConsumptionAPICache.getConsumption("Vacuum");
+        Optional<EnergyConsumption> second = energyConsumptionAPICache.getConsumption("VACUUM");
+        verify(energyConsumptionAPIService, times(1)).getConsumption("Vacuum");
+        assertAll(
+                () -> assertThat(first.orElseThrow().getName(), is(equalTo(goodObject.getName()))),
+                () -> assertThat(second.orElseThrow().getPower(), is(equalTo(goodObject.getPower()))),
+                () -> assertThat(energyConsumptionAPICache.stats().hitCount(), is(equalTo(1L))),
+                () -> assertThat(energyConsumptionAPICache.stats().missCount(), is(equalTo(1L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When the remote API doesn't know a name, then remember it as a negative entry")
+    void whenANameIsNotFoundThenCacheANegativeEntry() {
+        when(energyConsumptionAPIService.getConsumption("Unknown")).thenThrow(FeignException.NotFound.class);
+        Optional<EnergyConsumption> first = energyConsumptionAPICache.getConsumption("Unknown");
+        Optional<EnergyConsumption> second = energyConsumptionAPICache.getConsumption("unknown");
+        verify(energyConsumptionAPIService, times(1)).getConsumption("Unknown");
+        assertAll(
+                () -> assertTrue(first.isEmpty()),
+                () -> assertTrue(second.isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When the remote API fails, then don't cache the failure")
+    void whenTheRemoteAPIFailsThenDoNotCacheIt() {
+        when(energyConsumptionAPIService.getConsumption("Vacuum")).thenThrow(FeignException.InternalServerError.class);
+        assertThrows(FeignException.class, () -> energyConsumptionAPICache.getConsumption("Vacuum"));
+        assertThrows(FeignException.class, () -> energyConsumptionAPICache.getConsumption("Vacuum"));
+        verify(energyConsumptionAPIService, times(2)).getConsumption("Vacuum");
+        assertThat(energyConsumptionAPICache.estimatedSize(), is(equalTo(0L)));
+    }
+
+    @Test
+    @DisplayName("(4) When the cached object is changed by the caller, then the cache keeps its own copy")
+    void whenTheReturnedObjectIsChangedThenTheCachedOneIsNot() {
+        when(energyConsumptionAPIService.getConsumption("Vacuum")).thenReturn(goodObject);
+        energyConsumptionAPICache.getConsumption("Vacuum").orElseThrow().setPower(1);
+        assertThat(energyConsumptionAPICache.getConsumption("Vacuum").orElseThrow().getPower(), is(equalTo(500)));
+    }
+
+    @Test
+    @DisplayName("(5) When the cache is used, then its statistics are published to the meter registry")
+    void whenTheCacheIsUsedThenPublishItsStatistics() {
+        when(energyConsumptionAPIService.getConsumption("Vacuum")).thenReturn(goodObject);
+        energyConsumptionAPICache.getConsumption("Vacuum");
+        energyConsumptionAPICache.getConsumption("Vacuum");
+        assertAll(
+                () -> assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count(), is(equalTo(1.0))),
+                () -> assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count(), is(equalTo(1.0))),
+                () -> assertNotNull(meterRegistry.get("cache.evictions").functionCounter())
+        );
+    }
+
+    @Test
+    @DisplayName("(6) When the remote API fails after answering a name, then serve the last known value")
+    void whenTheRemoteAPIFailsThenServeTheLastKnownValue() {
+        EnergyConsumptionAPICache shortLivedCache = new EnergyConsumptionAPICache(
+                energyConsumptionAPIService, CircuitBreaker.ofDefaults("energyConsumptionAPI"), meterRegistry,
+                2, Duration.ZERO, Duration.ZERO, Duration.ofHours(24));
+        when(energyConsumptionAPIService.getConsumption("Vacuum"))
+                .thenReturn(goodObject)
+                .thenThrow(FeignException.ServiceUnavailable.class);
+        shortLivedCache.getConsumption("Vacuum");
+        Optional<EnergyConsumption> stale = shortLivedCache.getConsumption("Vacuum");
+        verify(energyConsumptionAPIService, times(2)).getConsumption("Vacuum");
+        assertThat(stale.orElseThrow().getPower(), is(equalTo(500)));
+    }
+}
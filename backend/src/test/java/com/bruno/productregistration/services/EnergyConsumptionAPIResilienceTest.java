@@ -0,0 +1,123 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.utils.EnergyConsumptionAPIStub;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class EnergyConsumptionAPIResilienceTest {
+
+    private static final EnergyConsumptionAPIStub stub = EnergyConsumptionAPIStub.start();
+
+    @DynamicPropertySource
+    static void energyConsumptionAPIProperties(DynamicPropertyRegistry registry) {
+        registry.add("energy-consumption-api.url", stub::getUrl);
+        registry.add("feign.client.config.appliances.read-timeout", () -> "200");
+        registry.add("energy-consumption-api.circuit-breaker.sliding-window-size", () -> "4");
+        registry.add("energy-consumption-api.circuit-breaker.minimum-number-of-calls", () -> "4");
+        registry.add("energy-consumption-api.circuit-breaker.wait-duration-in-open-state", () -> "1m");
+        registry.add("energy-consumption-api.cache.positive-ttl", () -> "100ms");
+    }
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private CircuitBreaker energyConsumptionAPICircuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        stub.reset();
+        energyConsumptionAPICircuitBreaker.reset();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("(1) When the remote API answers in time, then return its object")
+    void whenTheRemoteAPIAnswersInTimeThenReturnItsObject() {
+        stub.register(remoteObject("Microwave"));
+        EnergyConsumption consumption = energyConsumptionService.findByNameIgnoreCase(localDTO("Microwave"));
+        assertThat(consumption.getPower(), is(equalTo(1400)));
+    }
+
+    @Test
+    @DisplayName("(2) When the remote API is slower than the read timeout, then return the local object without waiting for it")
+    void whenTheRemoteAPIIsSlowThenReturnTheLocalObject() {
+        stub.register(remoteObject("Blender"));
+        stub.setLatency(Duration.ofSeconds(2));
+        long start = System.nanoTime();
+        EnergyConsumption consumption = energyConsumptionService.findByNameIgnoreCase(localDTO("Blender"));
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertAll(
+                () -> assertThat(consumption.getPower(), is(equalTo(10))),
+                () -> assertThat(elapsed, is(lessThan(1000L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When the remote API keeps failing, then open the circuit and stop calling it")
+    void whenTheRemoteAPIKeepsFailingThenOpenTheCircuit() {
+        stub.setErrorRate(1.0);
+        for (int i = 0; i < 4; i++) energyConsumptionService.findByNameIgnoreCase(localDTO("Toaster " + i));
+        int requests = stub.getRequests();
+        EnergyConsumption consumption = energyConsumptionService.findByNameIgnoreCase(localDTO("Toaster"));
+        assertAll(
+                () -> assertThat(energyConsumptionAPICircuitBreaker.getState(), is(equalTo(CircuitBreaker.State.OPEN))),
+                () -> assertThat(stub.getRequests(), is(equalTo(requests))),
+                () -> assertThat(consumption.getPower(), is(equalTo(10))),
+                () -> assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                        .tag("state", "open").gauge().value(), is(equalTo(1.0)))
+        );
+    }
+
+    @Test
+    @DisplayName("(4) When the remote API fails after answering a name, then return the last known remote object")
+    void whenTheRemoteAPIFailsThenReturnTheLastKnownObject() throws InterruptedException {
+        stub.register(remoteObject("Fridge"));
+        energyConsumptionService.findByNameIgnoreCase(localDTO("Fridge"));
+        Thread.sleep(150);
+        stub.setErrorRate(1.0);
+        EnergyConsumption consumption = energyConsumptionService.findByNameIgnoreCase(localDTO("Fridge"));
+        assertAll(
+                () -> assertThat(stub.getRequests(), is(equalTo(2))),
+                () -> assertThat(consumption.getPower(), is(equalTo(1400)))
+        );
+    }
+
+    private static EnergyConsumption remoteObject(String name) {
+        return EnergyConsumption.builder()
+                .name(name)
+                .power(1400)
+                .monthlyUsage(30)
+                .dailyUse(20)
+                .monthlyConsumptionAverage(14.0)
+                .build();
+    }
+
+    private static EnergyConsumptionDTO localDTO(String name) {
+        return EnergyConsumptionDTO.toDTO(EnergyConsumption.builder().name(name).power(10).build());
+    }
+}
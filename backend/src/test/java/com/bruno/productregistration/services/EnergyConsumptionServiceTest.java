@@ -3,8 +3,12 @@ package com.bruno.productregistration.services;
 import com.bruno.productregistration.dto.EnergyConsumptionDTO;
 import com.bruno.productregistration.entities.EnergyConsumption;
 import com.bruno.productregistration.repositories.EnergyConsumptionRepository;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.impl.EnergyConsumptionAPICache;
 import com.bruno.productregistration.services.impl.EnergyConsumptionServiceImpl;
+import com.bruno.productregistration.services.impl.HomeApplianceJsonCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +18,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -29,6 +38,21 @@ public class EnergyConsumptionServiceTest {
     @Mock
     private EnergyConsumptionRepository energyConsumptionRepository;
 
+    @Mock
+    private EnergyConsumptionAPICache energyConsumptionAPICache;
+
+    @Mock
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Mock
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Mock
+    private HomeApplianceJsonCache homeApplianceJsonCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EnergyConsumptionServiceImpl energyConsumptionService;
 
@@ -54,7 +78,7 @@ public class EnergyConsumptionServiceTest {
     @DisplayName("(1) When an object that contains a name and a power attribute is given" +
             "then it should be registered")
     void whenAnObjectIsGivenThenRegisterTheObject() {
-        when(energyConsumptionRepository.save(goodObject)).thenReturn(goodObject);
+        when(energyConsumptionRepository.insertIfAbsent(goodObject)).thenReturn(1);
         EnergyConsumptionDTO consumptionDTO = energyConsumptionService.save(goodDTO);
         assertAll(
                 () -> assertThat(consumptionDTO.getName(), is(equalTo(goodDTO.getName()))),
@@ -69,8 +93,6 @@ public class EnergyConsumptionServiceTest {
     @DisplayName("(2) When an object doesn't contain a name and a power attribute" +
             "then don't register it.")
     void whenAnObjectDoesNotHaveANameAndAPowerAttributeThenDoNotRegisterIt() {
-        EnergyConsumption incompleteObject = EnergyConsumption.builder().monthlyUsage(4).build();
-        when(energyConsumptionRepository.save(incompleteObject)).thenReturn(emptyObject);
         EnergyConsumptionDTO consumptionDTO = energyConsumptionService.save(emptyDTO);
         assertAll(
                 () -> assertNull(consumptionDTO.getName()),
@@ -84,7 +106,6 @@ public class EnergyConsumptionServiceTest {
     @Test
     @DisplayName("(3) When an empty object is given then don't register it. Return a null object.")
     void whenAnEmptyObjectIsGivenThenDoNotRegisterIt() {
-        when(energyConsumptionRepository.save(emptyObject)).thenReturn(emptyObject);
         EnergyConsumptionDTO consumptionDTO = energyConsumptionService.save(emptyDTO);
         assertAll(
                 () -> assertNull(consumptionDTO.getName()),
@@ -155,7 +176,7 @@ public class EnergyConsumptionServiceTest {
     @DisplayName("(9) When a valid id is given to update data, then return an object")
     void whenAValidIdIsGivenThenUpdateData() {
         when(energyConsumptionRepository.findById(goodObject.getName())).thenReturn(Optional.of(goodObject));
-        when(energyConsumptionRepository.save(goodObject)).thenReturn(goodObject);
+        when(energyConsumptionRepository.saveAndFlush(goodObject)).thenReturn(goodObject);
         EnergyConsumptionDTO consumptionDTO = energyConsumptionService.update(goodDTO.getName(), goodDTO);
         assertAll(
                 () -> assertThat(consumptionDTO.getName(), is(equalTo(goodDTO.getName()))),
@@ -213,4 +234,46 @@ public class EnergyConsumptionServiceTest {
         Page<EnergyConsumptionDTO> newPage = energyConsumptionService.findAll(pageRequest);
         assertThat(newPage.getContent(), is(empty()));
     }
+
+    @Test
+    @DisplayName("(15) When a name is not registered but the remote API knows it, then return the remote object")
+    void whenANameIsFoundByTheRemoteAPIThenReturnTheRemoteObject() {
+        EnergyConsumption remoteObject = EnergyConsumption.builder().name("Vacuum").power(1000).monthlyUsage(30).build();
+        when(energyConsumptionAPICache.getConsumption(goodDTO.getName())).thenReturn(Optional.of(remoteObject));
+        EnergyConsumption consumption = energyConsumptionService.findByNameIgnoreCase(goodDTO);
+        assertAll(
+                () -> assertThat(consumption.getName(), is(equalTo(remoteObject.getName()))),
+                () -> assertThat(consumption.getPower(), is(equalTo(remoteObject.getPower()))),
+                () -> assertThat(consumption.getMonthlyUsage(), is(equalTo(remoteObject.getMonthlyUsage())))
+        );
+    }
+
+    @Test
+    @DisplayName("(16) When a new name is saved concurrently, then one caller looks it up and inserts it in a transaction of its own")
+    void whenANewNameIsSavedConcurrentlyThenInsertItOnce() throws Exception {
+        int callers = 8;
+        CountDownLatch lookingUp = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(energyConsumptionAPICache.getConsumption(goodDTO.getName())).thenAnswer(invocation -> {
+            lookingUp.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(goodObject);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<EnergyConsumptionDTO>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) results.add(executor.submit(() -> energyConsumptionService.save(goodDTO)));
+            lookingUp.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<EnergyConsumptionDTO> result : results)
+                assertThat(result.get(5, TimeUnit.SECONDS).getName(), is(equalTo(goodDTO.getName())));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(energyConsumptionAPICache, times(1)).getConsumption(goodDTO.getName());
+        verify(energyConsumptionRepository, times(1)).insertIfAbsent(goodObject);
+        verify(transactionManager, times(1)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
 }
@@ -0,0 +1,117 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "appliances.batch.chunk-size=2")
+public class HomeApplianceBatchTest {
+
+    private static final String REGISTERED_ID = "eba9031b-b87d-4b91-9afd-9a1e0387a9bf";
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        homeApplianceRepository.deleteAllById(createdIds);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When a batch of new appliances is saved, then create all of them in chunks")
+    void whenABatchOfNewAppliancesIsSavedThenCreateAllOfThem() {
+        List<HomeApplianceDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) batch.add(dto(null, "Batch appliance " + i));
+        List<BatchItemResultDTO> results = save(batch);
+        assertAll(
+                () -> assertThat(results, hasSize(5)),
+                () -> assertThat(results.stream().map(BatchItemResultDTO::getIndex).collect(Collectors.toList()),
+                        is(equalTo(List.of(0, 1, 2, 3, 4)))),
+                () -> assertTrue(results.stream().allMatch(result -> result.getStatus() == BatchItemResultDTO.Status.CREATED)),
+                () -> assertThat(homeApplianceRepository.findAllById(createdIds), hasSize(5))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When a batch has a registered id, then update that appliance and keep its energy consumption")
+    void whenABatchHasARegisteredIdThenUpdateIt() {
+        HomeApplianceDTO update = dto(REGISTERED_ID, "Enceradeira");
+        update.setInventory(7);
+        update.setEnergyConsumption(EnergyConsumption.builder().name("enceradeira").build());
+        List<BatchItemResultDTO> results = save(List.of(update));
+        HomeAppliance appliance = transactionTemplate.execute(status -> {
+            HomeAppliance found = homeApplianceRepository.findById(REGISTERED_ID).orElseThrow();
+            found.getEnergyConsumption().getPower();
+            return found;
+        });
+        assertAll(
+                () -> assertThat(results.get(0).getStatus(), is(equalTo(BatchItemResultDTO.Status.UPDATED))),
+                () -> assertThat(appliance.getInventory(), is(equalTo(7))),
+                () -> assertThat(appliance.getEnergyConsumption().getPower(), is(equalTo(180)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When a batch has invalid or repeated items, then reject only those items")
+    void whenABatchHasInvalidItemsThenRejectOnlyThem() {
+        HomeApplianceDTO invalid = dto(null, "Ba");
+        HomeApplianceDTO badVoltage = dto(null, "Batch voltage");
+        badVoltage.setVoltage(9);
+        List<BatchItemResultDTO> results = save(List.of(
+                dto(null, "Batch blender"), invalid, dto(null, "BATCH BLENDER"), dto(null, "enceradeira"), badVoltage
+        ));
+        assertAll(
+                () -> assertThat(results.get(0).getStatus(), is(equalTo(BatchItemResultDTO.Status.CREATED))),
+                () -> assertThat(results.get(1).getStatus(), is(equalTo(BatchItemResultDTO.Status.REJECTED))),
+                () -> assertThat(results.get(1).getMessage(), containsString("name")),
+                () -> assertThat(results.get(2).getStatus(), is(equalTo(BatchItemResultDTO.Status.REJECTED))),
+                () -> assertThat(results.get(3).getStatus(), is(equalTo(BatchItemResultDTO.Status.REJECTED))),
+                () -> assertThat(results.get(4).getMessage(), containsString("voltage")),
+                () -> assertThat(createdIds, hasSize(1))
+        );
+    }
+
+    private List<BatchItemResultDTO> save(List<HomeApplianceDTO> batch) {
+        List<BatchItemResultDTO> results = homeApplianceService.saveAll(batch);
+        results.stream()
+                .filter(result -> result.getStatus() == BatchItemResultDTO.Status.CREATED)
+                .forEach(result -> createdIds.add(result.getId()));
+        return results;
+    }
+
+    private static HomeApplianceDTO dto(String id, String name) {
+        return HomeApplianceDTO.builder()
+                .id(id)
+                .name(name)
+                .price(10.0)
+                .voltage(0)
+                .portable(true)
+                .classification(2)
+                .build();
+    }
+}
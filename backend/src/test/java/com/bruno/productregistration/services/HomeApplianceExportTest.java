@@ -0,0 +1,96 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest
+public class HomeApplianceExportTest {
+
+    private static final String ID = "4c3f1e0a-52d1-4b8e-9a43-2e8f0f1b7d6a";
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        HomeAppliance appliance = homeApplianceRepository.save(HomeAppliance.builder()
+                .id(ID)
+                .name("Export mixer")
+                .description("Mixer, \"3 speeds\"")
+                .price(99.9)
+                .inventory(3)
+                .voltage(1)
+                .portable(true)
+                .classification(0)
+                .build());
+        homeApplianceViewRepository.save(HomeApplianceView.of(appliance));
+    }
+
+    @AfterEach
+    void tearDown() {
+        homeApplianceRepository.deleteById(ID);
+        homeApplianceViewRepository.removeById(ID);
+    }
+
+    @Test
+    @DisplayName("(1) When the catalog is exported as NDJSON, then write one appliance per line with nothing before it")
+    void whenTheCatalogIsExportedAsNdjsonThenWriteOneAppliancePerLine() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        homeApplianceService.exportAsNdjson(outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        HomeApplianceDTO mixer = objectMapper.readValue(lineOf(lines, "\"id\":\"" + ID), HomeApplianceDTO.class);
+        assertAll(
+                () -> assertThat((long) lines.length, is(equalTo(homeApplianceRepository.count()))),
+                () -> assertThat(outputStream.toString(StandardCharsets.UTF_8), endsWith("\n")),
+                () -> assertThat(Arrays.stream(lines).filter(line -> !line.startsWith("{")).count(), is(equalTo(0L))),
+                () -> assertThat(mixer.getId(), is(equalTo(ID))),
+                () -> assertThat(mixer.getDescription(), is(equalTo("Mixer, \"3 speeds\"")))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When the catalog is exported as CSV, then write a header and quote the values that need it")
+    void whenTheCatalogIsExportedAsCsvThenQuoteTheValues() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        homeApplianceService.exportAsCsv(outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll(
+                () -> assertThat(lines[0], startsWith("id,name,description")),
+                () -> assertThat((long) lines.length, is(equalTo(homeApplianceRepository.count() + 1))),
+                () -> assertThat(lineOf(lines, ID),
+                        is(equalTo(ID + ",Export mixer,\"Mixer, \"\"3 speeds\"\"\",99.9,3,1,true,0,")))
+        );
+    }
+
+    private static String lineOf(String[] lines, String text) {
+        return Arrays.stream(lines).filter(line -> line.contains(text)).findFirst().orElseThrow();
+    }
+}
@@ -2,20 +2,29 @@ package com.bruno.productregistration.services;
 
 import com.bruno.productregistration.dto.HomeApplianceDTO;
 import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
 import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
 import com.bruno.productregistration.services.exceptions.ExistingResourceException;
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
 import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.impl.HomeApplianceJsonCache;
 import com.bruno.productregistration.services.impl.HomeApplianceServiceImpl;
+import com.bruno.productregistration.services.impl.InventoryReservations;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -30,6 +39,15 @@ public class HomeApplianceServiceTest {
     @Mock
     private HomeApplianceRepository homeApplianceRepository;
 
+    @Mock
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Mock
+    private HomeApplianceJsonCache homeApplianceJsonCache;
+
+    @Mock
+    private InventoryReservations inventoryReservations;
+
     @InjectMocks
     private HomeApplianceServiceImpl homeApplianceService;
 
@@ -49,6 +67,8 @@ public class HomeApplianceServiceTest {
 
     private HomeApplianceDTO goodDTO = HomeApplianceDTO.toDTO(goodObject);
 
+    private HomeApplianceView goodView = HomeApplianceView.of(goodObject);
+
     private HomeAppliance badObject = HomeAppliance.builder()
             .id(id)
             .name("Va")
@@ -64,7 +84,7 @@ public class HomeApplianceServiceTest {
     @Test
     @DisplayName("(1) When given a good HomeApplianceDTO object, then register a new product")
     void whenGivingAGoodHomeApplianceDTOObjectThenSaveANewProduct() {
-        when(homeApplianceRepository.save(goodObject)).thenReturn(goodObject);
+        when(homeApplianceRepository.insert(goodObject)).thenReturn(goodObject);
         HomeApplianceDTO applianceDTO = homeApplianceService.save(goodDTO);
         assertAll(
                 () -> assertNotNull(applianceDTO.getId()),
@@ -83,14 +103,17 @@ public class HomeApplianceServiceTest {
     @DisplayName("(2)When trying to save an appliance with a registered name in the database," +
             "then throw ExistingResourceException")
     void whenTryingToSaveAnApplianceThenThrowExistingResourceException() {
-        doThrow(ExistingResourceException.class).when(homeApplianceRepository).save(goodObject);
-        assertThrows(ExistingResourceException.class, () -> homeApplianceService.save(goodDTO));
+        doThrow(new DataIntegrityViolationException("duplicated name", new ConstraintViolationException(
+                "duplicated name", new SQLException("duplicated name", "23505"), "ux_product_name_key")))
+                .when(homeApplianceRepository).insert(goodObject);
+        ExistingResourceException e = assertThrows(ExistingResourceException.class, () -> homeApplianceService.save(goodDTO));
+        assertThat(e.getMessage(), is(equalTo(new ExistingResourceException(goodDTO.getName()).getMessage())));
     }
 
     @Test
     @DisplayName("(3) When given a name then return a HomeApplianceDTO object")
     void whenGivingANameThenReturnADTOObject() {
-        when(homeApplianceRepository.findByNameIgnoreCase(goodObject.getName())).thenReturn(Optional.of(goodObject));
+        when(homeApplianceViewRepository.findByNameIgnoreCase(goodObject.getName())).thenReturn(Optional.of(goodView));
         HomeApplianceDTO applianceDTO = homeApplianceService.findByNameIgnoreCase(goodDTO.getName());
         assertAll(
                 () -> assertNotNull(applianceDTO.getId()),
@@ -101,14 +124,14 @@ public class HomeApplianceServiceTest {
     @Test
     @DisplayName("(4) When given an unknown name then throw a ResourceNotFoundException")
     void whenGivingAnUnknownNameThenThrowAnException() {
-        doThrow(ResourceNotFoundException.class).when(homeApplianceRepository).findByNameIgnoreCase(badObject.getName());
+        doThrow(ResourceNotFoundException.class).when(homeApplianceViewRepository).findByNameIgnoreCase(badObject.getName());
         assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.findByNameIgnoreCase(badDTO.getName()));
     }
 
     @Test
     @DisplayName("(5) When given a valid id, then return a HomeApplianceDTO object")
     void whenGivingAValidIDThenReturnAHomeApplianceDTOObject() {
-        when(homeApplianceRepository.findById(goodObject.getId())).thenReturn(Optional.of(goodObject));
+        when(homeApplianceViewRepository.findById(goodObject.getId())).thenReturn(Optional.of(goodView));
         HomeApplianceDTO applianceDTO = homeApplianceService.findById(goodDTO.getId());
         assertAll(
                 () -> assertNotNull(applianceDTO),
@@ -120,7 +143,7 @@ public class HomeApplianceServiceTest {
     @Test
     @DisplayName("(6) When given an invalid id, then throw a ResourceNotFoundException")
     void whenGivingAnInvalidIDThenThrowAnException() {
-        doThrow(ResourceNotFoundException.class).when(homeApplianceRepository).findById(badObject.getId());
+        doThrow(ResourceNotFoundException.class).when(homeApplianceViewRepository).findById(badObject.getId());
         assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.findById(badDTO.getId()));
     }
 
@@ -128,8 +151,8 @@ public class HomeApplianceServiceTest {
     @DisplayName("(7) When searching for all products, then return a page of them")
     void whenRequestingAllProductsThenReturnAPageOfThem() {
         PageRequest pageRequest = PageRequest.of(0, 1);
-        Page<HomeAppliance> page = new PageImpl<>(Collections.singletonList(goodObject));
-        when(homeApplianceRepository.findAll(pageRequest)).thenReturn(page);
+        Page<HomeApplianceView> page = new PageImpl<>(Collections.singletonList(goodView));
+        when(homeApplianceViewRepository.findAll(pageRequest)).thenReturn(page);
         Page<HomeApplianceDTO> newPage = homeApplianceService.findAll(pageRequest);
         assertAll(
                 () -> assertThat(newPage.getContent(), is(not(empty()))),
@@ -144,8 +167,8 @@ public class HomeApplianceServiceTest {
     @DisplayName("(8) When searching for all products, then return an empty page")
     void whenRequestingAllProductsThenReturnAnEmptyPage() {
         PageRequest pageRequest = PageRequest.of(0, 1);
-        Page<HomeAppliance> page = new PageImpl<>(Collections.emptyList());
-        when(homeApplianceRepository.findAll(pageRequest)).thenReturn(page);
+        Page<HomeApplianceView> page = new PageImpl<>(Collections.emptyList());
+        when(homeApplianceViewRepository.findAll(pageRequest)).thenReturn(page);
         Page<HomeApplianceDTO> newPage = homeApplianceService.findAll(pageRequest);
         assertThat(newPage.getContent(), is(empty()));
     }
@@ -153,9 +176,12 @@ public class HomeApplianceServiceTest {
     @Test
     @DisplayName("(9) Must update the home appliance registration by its id")
     void whenUpdateByIdIsCalledThenReturnTheUpdatedObject() {
+        ReflectionTestUtils.setField(homeApplianceService, "inventoryReservations", Optional.of(inventoryReservations));
         when(homeApplianceRepository.findById(goodDTO.getId())).thenReturn(Optional.of(goodObject));
-        when(homeApplianceRepository.save(goodObject)).thenReturn(goodObject);
         HomeApplianceDTO applianceDTO = homeApplianceService.update(goodDTO.getId(), goodDTO);
+        verify(homeApplianceRepository, times(1)).findById(goodDTO.getId());
+        verify(inventoryReservations, times(1)).release(goodDTO.getId());
+        verify(homeApplianceRepository, never()).save(any());
         assertAll(
                 () -> assertThat(applianceDTO.getId(), is(equalTo(goodDTO.getId()))),
                 () -> assertNotNull(applianceDTO.getName()),
@@ -175,14 +201,14 @@ public class HomeApplianceServiceTest {
     @Test
     @DisplayName("(10) When an invalid id is given to update an appliance, then throw a ResourceNotFoundException exception")
     void whenGivingAnInvalidIdThenThrowException() {
-        doThrow(ResourceNotFoundException.class).when(homeApplianceRepository).findById(badDTO.getId());
+        doThrow(ResourceNotFoundException.class).when(homeApplianceViewRepository).findById(badDTO.getId());
         assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.findById(badDTO.getId()));
     }
 
     @Test
     @DisplayName("(11) When an existent name is given to update an appliance, then throw an ExistingResourceException exception")
     void whenGivingAnInvalidNameThenThrowException() {
-        doThrow(ExistingResourceException.class).when(homeApplianceRepository).findByNameIgnoreCase(badDTO.getName());
+        doThrow(ExistingResourceException.class).when(homeApplianceViewRepository).findByNameIgnoreCase(badDTO.getName());
         assertThrows(ExistingResourceException.class, () -> homeApplianceService.findByNameIgnoreCase(badDTO.getName()));
     }
 
@@ -190,10 +216,10 @@ public class HomeApplianceServiceTest {
     @DisplayName("(12) When a valid id is given, delete the data from the database")
     void whenAValidIdIsGivenThenDeleteTheDataFromTheDatabase() {
         when(homeApplianceRepository.findById(goodObject.getId())).thenReturn(Optional.of(goodObject));
-        doNothing().when(homeApplianceRepository).deleteById(goodObject.getId());
         homeApplianceService.delete(goodObject.getId());
         verify(homeApplianceRepository, times(1)).findById(goodObject.getId());
-        verify(homeApplianceRepository, times(1)).deleteById(goodObject.getId());
+        verify(homeApplianceRepository, times(1)).delete(goodObject);
+        verify(homeApplianceViewRepository, times(1)).removeById(goodObject.getId());
     }
 
     @Test
@@ -201,4 +227,17 @@ public class HomeApplianceServiceTest {
     void whenAnInvalidIdIsGivenThenThrowException() {
         assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.delete(badDTO.getId()));
     }
+
+    @Test
+    @DisplayName("(14) When an invalid voltage code is given, then throw an IncorrectValueException without a stack trace and save nothing")
+    void whenAnInvalidVoltageCodeIsGivenThenThrowAStacklessException() {
+        HomeApplianceDTO invalidDTO = HomeApplianceDTO.toDTO(goodObject);
+        invalidDTO.setVoltage(9);
+        IncorrectValueException exception = assertThrows(IncorrectValueException.class, () -> homeApplianceService.save(invalidDTO));
+        assertAll(
+                () -> assertThat(exception.getMessage(), is(equalTo("Invalid voltage code: 9"))),
+                () -> assertThat(exception.getStackTrace().length, is(equalTo(0))),
+                () -> verifyNoInteractions(homeApplianceRepository)
+        );
+    }
 }
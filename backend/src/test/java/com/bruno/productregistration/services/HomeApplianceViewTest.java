@@ -0,0 +1,110 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.repositories.EnergyConsumptionRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class HomeApplianceViewTest {
+
+    private static final String REGISTERED_ID = "eba9031b-b87d-4b91-9afd-9a1e0387a9bf";
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private EnergyConsumptionRepository energyConsumptionRepository;
+
+    @Test
+    @DisplayName("(1) When the read model is backfilled, then only the missing rows are added and running it again changes nothing")
+    void whenTheReadModelIsBackfilledThenOnlyTheMissingRowsAreAdded() {
+        long rows = homeApplianceViewRepository.count();
+        homeApplianceViewRepository.removeById(REGISTERED_ID);
+        int added = homeApplianceViewRepository.insertMissingFromBaseTables();
+        int addedAgain = homeApplianceViewRepository.insertMissingFromBaseTables();
+        HomeApplianceView view = homeApplianceViewRepository.findById(REGISTERED_ID).orElseThrow();
+        assertAll(
+                () -> assertThat(added, is(equalTo(1))),
+                () -> assertThat(addedAgain, is(equalTo(0))),
+                () -> assertThat(homeApplianceViewRepository.count(), is(equalTo(rows))),
+                () -> assertThat(view.getName(), is(equalTo("Enceradeira"))),
+                () -> assertThat(view.getEnergyConsumptionName(), is(equalTo("Enceradeira"))),
+                () -> assertThat(view.getPower(), is(equalTo(180)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When an appliance is created, updated and deleted, then the read model follows every write")
+    void whenAnApplianceIsWrittenThenTheReadModelFollows() {
+        HomeApplianceDTO created = homeApplianceService.save(dto("Read model fan"));
+        HomeApplianceDTO renamed = dto("Read model FAN 2");
+        renamed.setPrice(49.9);
+        HomeApplianceDTO updated = homeApplianceService.update(created.getId(), renamed);
+        HomeApplianceDTO found = homeApplianceService.findByNameIgnoreCase("read model fan 2");
+        homeApplianceService.delete(created.getId());
+        assertAll(
+                () -> assertThat(found.getId(), is(equalTo(created.getId()))),
+                () -> assertThat(found.getPrice(), is(equalTo(49.9))),
+                () -> assertThat(updated, is(equalTo(found))),
+                () -> assertThat(updated.getVersion(), is(equalTo(created.getVersion() + 1))),
+                () -> assertTrue(homeApplianceViewRepository.findById(created.getId()).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When an energy consumption is updated, then the appliances using it show the new values")
+    void whenAnEnergyConsumptionIsUpdatedThenTheReadModelFollows() {
+        EnergyConsumption consumption = energyConsumptionRepository.findById("Enceradeira").orElseThrow();
+        EnergyConsumptionDTO update = EnergyConsumptionDTO.toDTO(consumption);
+        update.setPower(250);
+        energyConsumptionService.update("Enceradeira", update);
+        HomeApplianceDTO appliance = homeApplianceService.findById(REGISTERED_ID);
+        energyConsumptionService.update("Enceradeira", EnergyConsumptionDTO.toDTO(consumption));
+        assertThat(appliance.getEnergyConsumption().getPower(), is(equalTo(250)));
+    }
+
+    @Test
+    @DisplayName("(4) When a batch is saved, then the read model gets the created and updated items")
+    void whenABatchIsSavedThenTheReadModelFollows() {
+        HomeApplianceDTO created = homeApplianceService.save(dto("Read model heater"));
+        HomeApplianceDTO update = dto("Read model heater");
+        update.setId(created.getId());
+        update.setInventory(9);
+        homeApplianceService.saveAll(List.of(update, dto("Read model kettle")));
+        HomeApplianceView heater = homeApplianceViewRepository.findById(created.getId()).orElseThrow();
+        HomeApplianceView kettle = homeApplianceViewRepository.findByNameIgnoreCase("READ MODEL KETTLE").orElseThrow();
+        homeApplianceService.delete(heater.getId());
+        homeApplianceService.delete(kettle.getId());
+        assertThat(heater.getInventory(), is(equalTo(9)));
+    }
+
+    private static HomeApplianceDTO dto(String name) {
+        return HomeApplianceDTO.builder()
+                .name(name)
+                .price(10.0)
+                .inventory(1)
+                .voltage(1)
+                .portable(true)
+                .classification(2)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.services.impl.RandomUuidGenerator;
+import com.bruno.productregistration.services.impl.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class IdGeneratorTest {
+
+    @Test
+    @DisplayName("(1) When an id is a canonical lowercase UUID of the RFC 4122 variant, then it is kept")
+    void whenAnIdIsACanonicalUUIDThenItIsKept() {
+        assertAll(
+                () -> assertThat(IdGenerator.isCanonical("01890a5d-ac96-774b-bcce-b302099a8057"), is(true)),
+                () -> assertThat(IdGenerator.isCanonical("eba9031b-b87d-4b91-9afd-9a1e0387a9bf"), is(true)),
+                () -> assertThat(IdGenerator.isCanonical(new RandomUuidGenerator().newId()), is(true)),
+                () -> assertThat(IdGenerator.isCanonical(new TimeOrderedUuidGenerator().newId()), is(true))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When an id is not a canonical UUID, then it is not kept")
+    void whenAnIdIsNotACanonicalUUIDThenItIsNotKept() {
+        assertAll(
+                () -> assertThat(IdGenerator.isCanonical("01890a5d-ac96-774b-7cce-b302099a8057"), is(false)),
+                () -> assertThat(IdGenerator.isCanonical("EBA9031B-B87D-4B91-9AFD-9A1E0387A9BF"), is(false)),
+                () -> assertThat(IdGenerator.isCanonical("eba9031b-b87d-4b91-9afd-9a1e0387a9b"), is(false)),
+                () -> assertThat(IdGenerator.isCanonical("eba9031bb87d-4b91-9afd-9a1e0387a9bf0"), is(false)),
+                () -> assertThat(IdGenerator.isCanonical("eba9031b-b87d-4b91-9afd-9a1e0387a9bg"), is(false))
+        );
+    }
+}
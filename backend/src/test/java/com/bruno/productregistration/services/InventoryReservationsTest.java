@@ -0,0 +1,191 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.BatchItemResultDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.dto.InventoryDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.services.exceptions.InsufficientInventoryException;
+import com.bruno.productregistration.services.exceptions.PreconditionFailedException;
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.impl.InventoryReservations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "appliances.inventory.write-behind.enabled=true",
+        "appliances.inventory.write-behind.stripes=4",
+        "appliances.inventory.write-behind.lease-size=10",
+        "appliances.inventory.write-behind.flush-interval=1h",
+        "appliances.inventory.write-behind.idle-timeout=1ms"
+})
+public class InventoryReservationsTest {
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private InventoryReservations inventoryReservations;
+
+    private HomeApplianceDTO appliance;
+
+    @BeforeEach
+    void setup() {
+        appliance = homeApplianceService.save(HomeApplianceDTO.builder()
+                .name("Write-behind appliance")
+                .price(10.0)
+                .inventory(25)
+                .voltage(0)
+                .portable(true)
+                .classification(1)
+                .energyConsumption(EnergyConsumption.builder().name("Enceradeira").build())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        retire();
+        homeApplianceService.delete(appliance.getId());
+    }
+
+    @Test
+    @DisplayName("(1) When a unit is sold, then a lease is moved out of the stored inventory and the rest is written back once idle")
+    void whenAUnitIsSoldThenALeaseIsMovedOutOfTheStoredInventory() {
+        InventoryDTO sold = homeApplianceService.addInventory(appliance.getId(), -1);
+        int stored = storedInventory();
+        long held = inventoryReservations.held(appliance.getId());
+        retire();
+        assertAll(
+                () -> assertThat(sold.getDelta(), is(equalTo(-1))),
+                () -> assertThat(sold.getInventory(), is(nullValue())),
+                () -> assertThat(stored, is(equalTo(15))),
+                () -> assertThat(held, is(equalTo(9L))),
+                () -> assertThat(storedInventory(), is(equalTo(24)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When restocks arrive, then they are held in memory and the units above twice the lease are written back by the flush")
+    void whenRestocksArriveThenTheyAreWrittenBackByTheFlush() {
+        for (int i = 0; i < 6; i++) homeApplianceService.addInventory(appliance.getId(), 5);
+        int stored = storedInventory();
+        inventoryReservations.flush();
+        assertAll(
+                () -> assertThat(stored, is(equalTo(25))),
+                () -> assertThat(storedInventory(), is(equalTo(45))),
+                () -> assertThat(inventoryReservations.held(appliance.getId()), is(equalTo(10L)))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When many writers sell the same appliance concurrently, then exactly the stock is sold and the stored inventory never goes negative")
+    void whenManyWritersSellConcurrentlyThenExactlyTheStockIsSold() throws Exception {
+        int threads = 8;
+        int salesPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    int sold = 0;
+                    for (int j = 0; j < salesPerThread; j++) {
+                        try {
+                            homeApplianceService.addInventory(appliance.getId(), -1);
+                            sold++;
+                        } catch (InsufficientInventoryException e) {
+                            assertThat(storedInventory(), is(greaterThanOrEqualTo(0)));
+                        }
+                    }
+                    return sold;
+                }));
+            }
+            int sold = 0;
+            for (Future<Integer> future : futures) sold += future.get();
+            int total = sold;
+            retire();
+            assertAll(
+                    () -> assertThat(total, is(equalTo(25))),
+                    () -> assertThat(storedInventory(), is(equalTo(0)))
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("(4) When the appliance does not exist, then throw a ResourceNotFoundException exception")
+    void whenTheApplianceDoesNotExistThenThrowResourceNotFoundException() {
+        assertThrows(ResourceNotFoundException.class, () -> homeApplianceService.addInventory("missing", 1));
+    }
+
+    @Test
+    @DisplayName("(5) When the inventory is set by an update after a sale, then the flush does not add the escrow on top of it")
+    void whenTheInventoryIsSetByAnUpdateThenTheFlushDoesNotAddTheEscrow() {
+        homeApplianceService.addInventory(appliance.getId(), -1);
+        HomeApplianceDTO current = homeApplianceService.findById(appliance.getId());
+        current.setInventory(40);
+        homeApplianceService.update(appliance.getId(), current);
+        long held = inventoryReservations.held(appliance.getId());
+        inventoryReservations.flush();
+        int flushed = storedInventory();
+        homeApplianceService.addInventory(appliance.getId(), -1);
+        retire();
+        assertAll(
+                () -> assertThat(held, is(equalTo(0L))),
+                () -> assertThat(flushed, is(equalTo(40))),
+                () -> assertThat(storedInventory(), is(equalTo(39)))
+        );
+    }
+
+    @Test
+    @DisplayName("(6) When an update setting the inventory rolls back, then the escrow is still written back")
+    void whenAnUpdateRollsBackThenTheEscrowIsStillWrittenBack() {
+        homeApplianceService.addInventory(appliance.getId(), -1);
+        HomeApplianceDTO current = homeApplianceService.findById(appliance.getId());
+        current.setInventory(40);
+        assertThrows(PreconditionFailedException.class,
+                () -> homeApplianceService.update(appliance.getId(), current, current.getVersion() + 1));
+        retire();
+        assertThat(storedInventory(), is(equalTo(24)));
+    }
+
+    @Test
+    @DisplayName("(7) When the inventory is set by a batch upsert after a sale, then the flush does not add the escrow on top of it")
+    void whenTheInventoryIsSetByABatchUpsertThenTheFlushDoesNotAddTheEscrow() {
+        homeApplianceService.addInventory(appliance.getId(), -1);
+        HomeApplianceDTO current = homeApplianceService.findById(appliance.getId());
+        current.setInventory(40);
+        List<BatchItemResultDTO> results = homeApplianceService.saveAll(List.of(current));
+        long held = inventoryReservations.held(appliance.getId());
+        retire();
+        assertAll(
+                () -> assertThat(results.get(0).getStatus(), is(equalTo(BatchItemResultDTO.Status.UPDATED))),
+                () -> assertThat(held, is(equalTo(0L))),
+                () -> assertThat(storedInventory(), is(equalTo(40)))
+        );
+    }
+
+    private int storedInventory() {
+        return homeApplianceService.findById(appliance.getId()).getInventory();
+    }
+
+    private void retire() {
+        inventoryReservations.flush();
+        inventoryReservations.flush();
+    }
+}
@@ -0,0 +1,125 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.dto.CursorPageDTO;
+import com.bruno.productregistration.dto.EnergyConsumptionDTO;
+import com.bruno.productregistration.dto.HomeApplianceDTO;
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.bruno.productregistration.entities.HomeAppliance;
+import com.bruno.productregistration.entities.HomeApplianceView;
+import com.bruno.productregistration.repositories.EnergyConsumptionRepository;
+import com.bruno.productregistration.repositories.HomeApplianceRepository;
+import com.bruno.productregistration.repositories.HomeApplianceViewRepository;
+import com.bruno.productregistration.services.exceptions.IncorrectValueException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class KeysetPaginationTest {
+
+    @Autowired
+    private HomeApplianceService homeApplianceService;
+
+    @Autowired
+    private EnergyConsumptionService energyConsumptionService;
+
+    @Autowired
+    private HomeApplianceRepository homeApplianceRepository;
+
+    @Autowired
+    private HomeApplianceViewRepository homeApplianceViewRepository;
+
+    @Autowired
+    private EnergyConsumptionRepository energyConsumptionRepository;
+
+    private final List<String> applianceIds = new ArrayList<>();
+
+    private final List<String> consumptionNames = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 7; i++) {
+            HomeAppliance appliance = HomeAppliance.builder()
+                    .id(UUID.randomUUID().toString())
+                    .name("Keyset appliance " + i)
+                    .price(1.0)
+                    .inventory(1)
+                    .voltage(0)
+                    .portable(true)
+                    .classification(1)
+                    .build();
+            applianceIds.add(homeApplianceRepository.save(appliance).getId());
+            homeApplianceViewRepository.save(HomeApplianceView.of(appliance));
+            consumptionNames.add(energyConsumptionRepository.save(
+                    EnergyConsumption.builder().name("Keyset consumption " + i).power(i).build()).getName());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        homeApplianceRepository.deleteAllById(applianceIds);
+        homeApplianceViewRepository.deleteAllById(applianceIds);
+        energyConsumptionRepository.deleteAllById(consumptionNames);
+        applianceIds.clear();
+        consumptionNames.clear();
+    }
+
+    @Test
+    @DisplayName("(1) When appliances are listed with a cursor, then every row is returned once and in order")
+    void whenAppliancesAreListedWithACursorThenReturnEveryRowOnceInOrder() {
+        for (String sort : List.of("name", "id")) {
+            List<HomeApplianceDTO> listed = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPageDTO<HomeApplianceDTO> page = homeApplianceService.findAll(cursor, 3, sort, false);
+                assertNull(page.getTotal());
+                listed.addAll(page.getContent());
+                cursor = page.getNext();
+            } while (cursor != null);
+            List<String> keys = listed.stream()
+                    .map(appliance -> sort.equals("name") ? appliance.getName() : appliance.getId())
+                    .collect(Collectors.toList());
+            assertAll(
+                    () -> assertThat((long) listed.size(), is(equalTo(homeApplianceRepository.count()))),
+                    () -> assertThat(keys, is(equalTo(keys.stream().sorted().collect(Collectors.toList()))))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("(2) When consumptions are listed with a cursor and the total is asked for, then return it")
+    void whenConsumptionsAreListedWithTheTotalThenReturnIt() {
+        CursorPageDTO<EnergyConsumptionDTO> first = energyConsumptionService.findAll(null, 4, true);
+        CursorPageDTO<EnergyConsumptionDTO> second = energyConsumptionService.findAll(first.getNext(), 4, false);
+        assertAll(
+                () -> assertThat(first.getTotal(), is(equalTo(energyConsumptionRepository.count()))),
+                () -> assertThat(first.getContent(), hasSize(4)),
+                () -> assertThat(second.getContent().get(0).getName(),
+                        is(greaterThan(first.getContent().get(3).getName())))
+        );
+    }
+
+    @Test
+    @DisplayName("(3) When the cursor is invalid or belongs to another sort, then throw an IncorrectValueException")
+    void whenTheCursorIsInvalidThenThrowAnException() {
+        String byName = homeApplianceService.findAll(null, 2, "name", false).getNext();
+        assertAll(
+                () -> assertThrows(IncorrectValueException.class, () -> homeApplianceService.findAll("%%", 2, "name", false)),
+                () -> assertThrows(IncorrectValueException.class, () -> homeApplianceService.findAll(byName, 2, "id", false)),
+                () -> assertThrows(IncorrectValueException.class, () -> homeApplianceService.findAll(null, 0, "name", false)),
+                () -> assertThrows(IncorrectValueException.class, () -> homeApplianceService.findAll(null, 2, "price", false))
+        );
+    }
+}
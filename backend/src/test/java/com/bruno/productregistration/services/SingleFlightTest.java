@@ -0,0 +1,103 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.services.exceptions.ResourceNotFoundException;
+import com.bruno.productregistration.services.impl.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("(1) When the same key is requested concurrently, then the supplier runs once and every caller gets its result")
+    void whenTheSameKeyIsRequestedConcurrentlyThenRunTheSupplierOnce() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitCallers(() -> {
+            invocations.incrementAndGet();
+            await(release);
+            return "Vacuum";
+        });
+        waitUntilCallersAreQueued();
+        release.countDown();
+        for (Future<String> result : results) assertThat(result.get(5, TimeUnit.SECONDS), is(equalTo("Vacuum")));
+        assertAll(
+                () -> assertThat(invocations.get(), is(equalTo(1))),
+                () -> assertThat(singleFlight.inFlight(), is(equalTo(0)))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When the shared call fails, then every waiting caller gets the same exception")
+    void whenTheSharedCallFailsThenEveryCallerGetsTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitCallers(() -> {
+            await(release);
+            throw new ResourceNotFoundException("Vacuum");
+        });
+        waitUntilCallersAreQueued();
+        release.countDown();
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertThat(exception.getCause(), is(instanceOf(ResourceNotFoundException.class)));
+        }
+    }
+
+    @Test
+    @DisplayName("(3) When calls with the same key don't overlap, then each one runs the supplier")
+    void whenCallsDoNotOverlapThenRunTheSupplierEachTime() {
+        AtomicInteger invocations = new AtomicInteger();
+        singleFlight.execute("vacuum", () -> "" + invocations.incrementAndGet());
+        String second = singleFlight.execute("vacuum", () -> "" + invocations.incrementAndGet());
+        assertThat(second, is(equalTo("2")));
+    }
+
+    private List<Future<String>> submitCallers(Callable<String> supplier) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("vacuum", () -> {
+                try {
+                    return supplier.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })));
+        }
+        return results;
+    }
+
+    private void waitUntilCallersAreQueued() throws InterruptedException {
+        while (singleFlight.inFlight() == 0) Thread.sleep(5);
+        Thread.sleep(200);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bruno.productregistration.services;
+
+import com.bruno.productregistration.services.impl.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    private static final int IDS = 100_000;
+
+    private final TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+
+    @Test
+    @DisplayName("(1) When an id is generated, then it is a version 7 UUID carrying the current time")
+    void whenAnIdIsGeneratedThenItIsAVersionSevenUUID() {
+        long before = System.currentTimeMillis();
+        String id = generator.newId();
+        UUID uuid = UUID.fromString(id);
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertAll(
+                () -> assertThat(id, is(equalTo(uuid.toString()))),
+                () -> assertThat(uuid.version(), is(equalTo(7))),
+                () -> assertThat(uuid.variant(), is(equalTo(2))),
+                () -> assertThat(millis, is(both(greaterThanOrEqualTo(before)).and(lessThanOrEqualTo(System.currentTimeMillis() + 1))))
+        );
+    }
+
+    @Test
+    @DisplayName("(2) When many ids are generated in a row, then they are unique and sorted as strings")
+    void whenManyIdsAreGeneratedThenTheyAreUniqueAndSorted() {
+        List<String> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) ids.add(generator.newId());
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertAll(
+                () -> assertThat(new HashSet<>(ids).size(), is(equalTo(IDS))),
+                () -> assertThat(ids, is(equalTo(sorted)))
+        );
+    }
+}
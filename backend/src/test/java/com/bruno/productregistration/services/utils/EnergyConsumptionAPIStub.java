@@ -0,0 +1,149 @@
+package com.bruno.productregistration.services.utils;
+
+import com.bruno.productregistration.entities.EnergyConsumption;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the "happliance" energy consumption API, with configurable latency and error rate.
+ */
+public class EnergyConsumptionAPIStub implements AutoCloseable {
+
+    private static final String PATH = "/api/v1/appliances";
+
+    private static final byte[] ERROR_BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, byte[]> consumptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final HttpServer server;
+
+    private volatile Duration latency = Duration.ZERO;
+
+    private volatile double errorRate;
+
+    private EnergyConsumptionAPIStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PATH + "/name", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static EnergyConsumptionAPIStub start() {
+        try {
+            return new EnergyConsumptionAPIStub();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    public void register(EnergyConsumption consumption) {
+        try {
+            consumptions.put(key(consumption.getName()), objectMapper.writeValueAsBytes(consumption));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public void reset() {
+        consumptions.clear();
+        requests.set(0);
+        latency = Duration.ZERO;
+        errorRate = 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            sleep(latency);
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, ERROR_BODY);
+                return;
+            }
+            byte[] body = consumptions.get(key(nameOf(exchange)));
+            if (body == null) {
+                respond(exchange, 404, ERROR_BODY);
+                return;
+            }
+            respond(exchange, 200, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static String nameOf(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return "";
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("name=")) return URLDecoder.decode(parameter.substring(5), StandardCharsets.UTF_8);
+        }
+        return "";
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) return;
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}